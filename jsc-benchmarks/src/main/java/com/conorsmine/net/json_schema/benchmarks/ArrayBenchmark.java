@@ -0,0 +1,91 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckOptions;
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks large arrays of small objects, serially, in parallel and from a reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int size;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonArray json;
+    private String jsonString;
+    private CheckOptions parallelOptions;
+
+    @Setup
+    public void setup() {
+        schema = JsonSchemaBuilder.createSchema(TagArr.builder()
+                .setTagFormat(TagObj.builder()
+                        .setKeyAs("id", TagType.U_INT)
+                        .setKeyAs("name", TagType.STR)
+                        .build()));
+
+        json = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            final JsonObject element = new JsonObject();
+            // Every hundredth element of an invalid array has a negative id
+            element.addProperty("id", (!valid && i % 100 == 0) ? -i : i);
+            element.addProperty("name", "element_" + i);
+            json.add(element);
+        }
+
+        jsonString = json.toString();
+        parallelOptions = CheckOptions.builder().setParallelThreshold(1024).build();
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(json);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(json);
+    }
+
+    @Benchmark
+    public CheckResult checkParallel() {
+        return schema.check(json, parallelOptions);
+    }
+
+    @Benchmark
+    public CheckResult checkReader() throws IOException {
+        return schema.check(new StringReader(jsonString));
+    }
+}
@@ -0,0 +1,69 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagConditional;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches a message to the conditional of its kind, picking the last registered kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionalBenchmark {
+
+    @Param({ "2", "14", "64" })
+    public int kinds;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonObject json;
+
+    @Setup
+    public void setup() {
+        final TagConditional[] conditionals = new TagConditional[kinds];
+        for (int i = 0; i < kinds; i++)
+            conditionals[i] = TagConditional.create("kind_" + i, "payload", true, TagObj.builder().setKeyAs("id", TagType.U_INT).build());
+
+        schema = JsonSchemaBuilder.createSchema(TagObj.builder().setConditionalTags("kind", conditionals));
+
+        final JsonObject payload = new JsonObject();
+        payload.addProperty("id", valid ? 42 : -42);
+        json = new JsonObject();
+        json.addProperty("kind", "KIND_" + (kinds - 1));
+        json.add("payload", payload);
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(json);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(json);
+    }
+}
@@ -0,0 +1,65 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.tags.TagEnum;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up values in small and large enums, ignoring their capitalization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnumBenchmark {
+
+    @Param({ "4", "16", "400" })
+    public int constants;
+
+    private JsonSchema schema;
+    private JsonElement firstConstant, lastConstant, unknownConstant;
+
+    @Setup
+    public void setup() {
+        final String[] enumConstants = new String[constants];
+        for (int i = 0; i < constants; i++) enumConstants[i] = "CONSTANT_" + i;
+
+        final TagEnum tag = TagEnum.create(enumConstants);
+        schema = JsonSchemaBuilder.createSchema(() -> tag);
+        firstConstant = new JsonPrimitive("constant_0");
+        lastConstant = new JsonPrimitive("Constant_" + (constants - 1));
+        unknownConstant = new JsonPrimitive("CONSTANT_" + constants);
+    }
+
+    @Benchmark
+    public boolean firstConstant() {
+        return schema.isValid(firstConstant);
+    }
+
+    @Benchmark
+    public boolean lastConstant() {
+        return schema.isValid(lastConstant);
+    }
+
+    @Benchmark
+    public boolean unknownConstant() {
+        return schema.isValid(unknownConstant);
+    }
+}
@@ -0,0 +1,77 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagGroup;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks a linked list described by a group using itself, so every level resolves the group again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupBenchmark {
+
+    @Param({ "10", "100", "500" })
+    public int depth;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonObject json;
+
+    @Setup
+    public void setup() {
+        schema = JsonSchemaBuilder.builder(TagObj.builder().setKeyAs("head", TagGroup.create("node")))
+                .addGroup("node", TagObj.builder()
+                        .setKeyAs("value", TagType.INT)
+                        .setKeyAs("next", TagGroup.create("node", true))
+                        .build())
+                .build();
+
+        JsonObject node = null;
+        for (int i = depth; i > 0; i--) {
+            final JsonObject parent = new JsonObject();
+            // The last node of an invalid list holds a string
+            if (!valid && i == depth) parent.addProperty("value", "value_" + i);
+            else parent.addProperty("value", i);
+            if (node != null) parent.add("next", node);
+            node = parent;
+        }
+
+        json = new JsonObject();
+        json.add("head", node);
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(json);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(json);
+    }
+}
@@ -0,0 +1,79 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks wide objects, every key holding a string or an integer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int keys;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonObject json;
+    private String jsonString;
+
+    @Setup
+    public void setup() {
+        final TagObj.Builder builder = TagObj.builder();
+        json = new JsonObject();
+        for (int i = 0; i < keys; i++) {
+            final boolean string = i % 2 == 0;
+            builder.setKeyAs("key_" + i, string ? TagType.STR : TagType.INT);
+
+            // Every tenth integer of an invalid object is a string
+            final boolean wrongType = !valid && i % 20 == 1;
+            if (string != wrongType) json.addProperty("key_" + i, "value_" + i);
+            else json.addProperty("key_" + i, i);
+        }
+
+        schema = JsonSchemaBuilder.createSchema(builder);
+        jsonString = json.toString();
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(json);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(json);
+    }
+
+    @Benchmark
+    public CheckResult checkReader() throws IOException {
+        return schema.check(new StringReader(jsonString));
+    }
+}
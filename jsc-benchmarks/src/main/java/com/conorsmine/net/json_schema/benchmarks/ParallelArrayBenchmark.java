@@ -0,0 +1,83 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckOptions;
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks a large array in pools of a growing amount of threads, showing how parallel checks scale with the cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelArrayBenchmark {
+
+    private static final int SIZE = 100000;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonArray json;
+    private ForkJoinPool pool;
+    private CheckOptions parallelOptions;
+
+    @Setup
+    public void setup() {
+        schema = JsonSchemaBuilder.createSchema(TagArr.builder()
+                .setTagFormat(TagObj.builder()
+                        .setKeyAs("id", TagType.U_INT)
+                        .setKeyAs("name", TagType.STR)
+                        .build()));
+
+        json = new JsonArray();
+        for (int i = 0; i < SIZE; i++) {
+            final JsonObject element = new JsonObject();
+            // Every hundredth element of an invalid array has a negative id
+            element.addProperty("id", (!valid && i % 100 == 0) ? -i : i);
+            element.addProperty("name", "element_" + i);
+            json.add(element);
+        }
+
+        pool = new ForkJoinPool(parallelism);
+        parallelOptions = CheckOptions.builder().setParallelThreshold(1024).setForkJoinPool(pool).build();
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public CheckResult checkParallel() {
+        return schema.check(json, parallelOptions);
+    }
+}
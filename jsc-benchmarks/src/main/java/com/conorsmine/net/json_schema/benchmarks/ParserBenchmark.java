@@ -0,0 +1,89 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.parser.ParseResult;
+import com.conorsmine.net.json_schema.parser.SchemaJsonParser;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates a schema from its JSON definition, and from a snapshot of it for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    private static final String SCHEMA = "{\"schema\":["
+            + "{\"name\":\"name\",\"type\":\"str\",\"optional\":false,\"data\":{\"min_len\":1,\"max_len\":32}},"
+            + "{\"name\":\"id\",\"type\":\"uuid\",\"optional\":false},"
+            + "{\"name\":\"level\",\"type\":\"u_int\",\"optional\":false,\"data\":{\"min_value\":1,\"max_value\":100}},"
+            + "{\"name\":\"rarity\",\"type\":\"enum\",\"optional\":false,\"data\":[\"common\",\"rare\",\"epic\"]},"
+            + "{\"name\":\"stats\",\"type\":\"obj\",\"optional\":false,\"data\":["
+            + "{\"name\":\"damage\",\"type\":\"flt\",\"optional\":false},"
+            + "{\"name\":\"speed\",\"type\":\"u_flt\",\"optional\":true},"
+            + "{\"name\":\"element\",\"type\":\"char\",\"optional\":true},"
+            + "{\"name\":\"tradeable\",\"type\":\"bool\",\"optional\":true}"
+            + "]}"
+            + "],\"groups\":["
+            + "{\"group_name\":\"player\",\"optional\":false,\"type_def\":{\"name\":\"player\",\"type\":\"obj\",\"optional\":false,\"data\":["
+            + "{\"name\":\"name\",\"type\":\"str\",\"optional\":false},"
+            + "{\"name\":\"id\",\"type\":\"uuid\",\"optional\":false}"
+            + "]}}"
+            + "]}";
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonObject json;
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        final JsonObject validJson = JsonParser.parseString(SCHEMA).getAsJsonObject();
+        final ParseResult result = SchemaJsonParser.parse(validJson);
+        if (!result.hasSchema()) throw new IllegalStateException("The benchmark schema is invalid! " + result.getErrors());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        result.getSchema().get().writeSnapshot(out);
+        snapshot = out.toByteArray();
+
+        json = validJson;
+        if (!valid) {
+            // An invalid definition is rejected by the parser schema check
+            json = validJson.deepCopy();
+            json.getAsJsonArray("schema").get(0).getAsJsonObject().addProperty("optional", "sometimes");
+            if (SchemaJsonParser.parse(json).hasSchema()) throw new IllegalStateException("The benchmark input is not invalid!");
+        }
+    }
+
+    @Benchmark
+    public ParseResult parse() {
+        return SchemaJsonParser.parse(json);
+    }
+
+    @Benchmark
+    public JsonSchema loadSnapshot() throws IOException {
+        return JsonSchemaBuilder.createSchemaFromSnapshot(new ByteArrayInputStream(snapshot));
+    }
+}
@@ -0,0 +1,118 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.JsonTag;
+import com.conorsmine.net.json_schema.tags.TagBoolean;
+import com.conorsmine.net.json_schema.tags.TagChar;
+import com.conorsmine.net.json_schema.tags.TagEnum;
+import com.conorsmine.net.json_schema.tags.TagNumeric;
+import com.conorsmine.net.json_schema.tags.TagString;
+import com.conorsmine.net.json_schema.tags.TagUUID;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks a single value against each tag type holding a primitive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveTagBenchmark {
+
+    @Param({ "STR", "U_INT", "INT", "S_INT", "U_FLT", "FLT", "S_FLT", "UUID", "ENUM", "BOOL", "CHAR" })
+    public TagType type;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonElement json;
+
+    @Setup
+    public void setup() {
+        final JsonTag tag = createTag(type);
+        schema = JsonSchemaBuilder.createSchema(() -> tag);
+        json = JsonParser.parseString(valid ? validValue(type) : invalidValue(type));
+        if (schema.isValid(json) != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(json);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(json);
+    }
+
+    private static JsonTag createTag(TagType type) {
+        switch (type) {
+            case STR: return TagString.builder().setLenRange(1, 32).build();
+            case U_INT: return TagNumeric.<Long>builder(type).setRange(0L, 1_000_000L).build();
+            case INT: return TagNumeric.<Long>builder(type).setRange(-1_000_000L, 1_000_000L).build();
+            case S_INT: return TagNumeric.<Long>builder(type).setRange(-1_000_000L, 0L).build();
+            case U_FLT: return TagNumeric.<Double>builder(type).setRange(0.0, 100.0).build();
+            case FLT: return TagNumeric.<Double>builder(type).setRange(-100.0, 100.0).build();
+            case S_FLT: return TagNumeric.<Double>builder(type).setRange(-100.0, 0.0).build();
+            case UUID: return TagUUID.create();
+            case ENUM: return TagEnum.create(TagType.class);
+            case BOOL: return TagBoolean.builder().build();
+            case CHAR: return TagChar.builder().addValidChars("abcdefghijklmnopqrstuvwxyz").build();
+            default: throw new UnsupportedOperationException("This type is not benchmarked! " + type);
+        }
+    }
+
+    private static String validValue(TagType type) {
+        switch (type) {
+            case STR: return "\"Excalibur\"";
+            case U_INT: return "1337";
+            case INT: return "-1337";
+            case S_INT: return "-42";
+            case U_FLT: return "13.37";
+            case FLT: return "-13.37";
+            case S_FLT: return "-0.5";
+            case UUID: return "\"123e4567-e89b-12d3-a456-426614174000\"";
+            case ENUM: return "\"conditional\"";
+            case BOOL: return "\"Yes\"";
+            case CHAR: return "\"q\"";
+            default: throw new UnsupportedOperationException("This type is not benchmarked! " + type);
+        }
+    }
+
+    private static String invalidValue(TagType type) {
+        switch (type) {
+            case STR: return "\"This name is far too long to be accepted by the tag\"";
+            case U_INT: return "-1337";
+            case INT: return "13.37";
+            case S_INT: return "42";
+            case U_FLT: return "-13.37";
+            case FLT: return "1000.5";
+            case S_FLT: return "0.5";
+            case UUID: return "\"123e4567-e89b-12d3-a456-42661417400z\"";
+            case ENUM: return "\"not_a_type\"";
+            case BOOL: return "\"maybe\"";
+            case CHAR: return "\"Q\"";
+            default: throw new UnsupportedOperationException("This type is not benchmarked! " + type);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks objects of the same shape with differing values, with and without a shape cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeCacheBenchmark {
+
+    private static final int DOCUMENTS = 64;
+
+    @Param({ "10", "100" })
+    public int keys;
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private JsonSchema cachedSchema;
+    private JsonObject[] documents;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        schema = JsonSchemaBuilder.createSchema(createTag());
+        cachedSchema = JsonSchemaBuilder.builder(createTag()).setShapeCache(16).build();
+
+        documents = new JsonObject[DOCUMENTS];
+        for (int i = 0; i < DOCUMENTS; i++) {
+            final JsonObject document = new JsonObject();
+            for (int key = 0; key < keys; key++) {
+                if (key % 2 == 0) document.addProperty("key_" + key, "value_" + i);
+                else document.addProperty("key_" + key, i * key + 0.5);
+            }
+
+            final JsonArray tags = new JsonArray();
+            tags.add("tag_" + i);
+            tags.add("tag_" + (i + 1));
+            document.add("tags", tags);
+            // The last key is of the wrong type
+            if (!valid) document.addProperty("key_" + (keys - 1), "value_" + i);
+            documents[i] = document;
+        }
+        if (schema.check(documents[0]).isValid() != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    private TagObj.Builder createTag() {
+        final TagObj.Builder builder = TagObj.builder();
+        for (int key = 0; key < keys; key++)
+            builder.setKeyAs("key_" + key, key % 2 == 0 ? TagType.STR : TagType.FLT);
+        return builder
+                .setKeyAs("tags", TagArr.builder().setTagFormat(TagType.STR).build());
+    }
+
+    @Benchmark
+    public CheckResult check() {
+        return schema.check(nextDocument());
+    }
+
+    @Benchmark
+    public CheckResult checkCached() {
+        return cachedSchema.check(nextDocument());
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return schema.isValid(nextDocument());
+    }
+
+    @Benchmark
+    public boolean isValidCached() {
+        return cachedSchema.isValid(nextDocument());
+    }
+
+    private JsonObject nextDocument() {
+        next = (next + 1) % DOCUMENTS;
+        return documents[next];
+    }
+}
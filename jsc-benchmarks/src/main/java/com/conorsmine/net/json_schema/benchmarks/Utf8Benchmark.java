@@ -0,0 +1,85 @@
+package com.conorsmine.net.json_schema.benchmarks;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the UTF-8 bytes of the weapon JSON of the README, in place and after decoding and parsing them with Gson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8Benchmark {
+
+    private static final String VALID_JSON = "{\"meta_data\":{\"parser_version\":\"1.0\"},"
+            + "\"weapon_data\":{\"id\":\"123e4567-e89b-12d3-a456-426614174000\",\"name\":\"Sword\",\"attack_speed\":1.8,\"range\":1,"
+            + "\"tags\":[\"sharp\",\"iron\",\"one-handed\"],\"lore\":\"Forged in the fires of the old kingdom, passed from knight to knight.\"}}";
+    private static final String INVALID_JSON = "{\"meta_data\":{\"parser_version\":1.0},"
+            + "\"weapon_data\":{\"id\":100,\"name\":\"Sword\",\"attack_speed\":-1.8,\"range\":1,"
+            + "\"tags\":[\"sharp\",\"iron\",\"one-handed\"],\"lore\":\"Forged in the fires of the old kingdom, passed from knight to knight.\"}}";
+
+    @Param({ "true", "false" })
+    public boolean valid;
+
+    private JsonSchema schema;
+    private byte[] bytes;
+    private ByteBuffer directBuffer;
+
+    @Setup
+    public void setup() {
+        schema = JsonSchemaBuilder.createSchema(TagObj.builder()
+                .setKeyAs("meta_data", TagObj.builder()
+                        .setKeyAs("parser_version", TagType.STR)
+                        .build())
+                .setKeyAs("weapon_data", TagObj.builder()
+                        .setKeyAs("id", TagType.UUID)
+                        .setKeyAs("name", TagType.STR)
+                        .setKeyAs("attack_speed", TagType.U_FLT)
+                        .setKeyAs("range", TagType.U_INT)
+                        .setKeyAs("tags", TagArr.builder().setTagFormat(TagType.STR).setOptional().build())
+                        .build()));
+
+        bytes = (valid ? VALID_JSON : INVALID_JSON).getBytes(StandardCharsets.UTF_8);
+        directBuffer = ByteBuffer.allocateDirect(bytes.length);
+        directBuffer.put(bytes).flip();
+        if (schema.check(bytes, 0, bytes.length).isValid() != valid) throw new IllegalStateException("The benchmark input is not " + (valid ? "valid" : "invalid") + "!");
+    }
+
+    @Benchmark
+    public CheckResult checkParsed() {
+        return schema.check(JsonParser.parseString(new String(bytes, StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public CheckResult checkBytes() {
+        return schema.check(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    public CheckResult checkDirectBuffer() {
+        return schema.check(directBuffer);
+    }
+}
@@ -0,0 +1,116 @@
+package com.conorsmine.net.json_schema.jackson;
+
+import com.conorsmine.net.json_schema.CheckOptions;
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Access to Jackson {@link JsonNode}s, so they can be checked without converting them to Gson first:
+ * <pre>{@code schema.check(node, JacksonAccess.jackson());}</pre>
+ */
+public final class JacksonAccess implements JsonAccess<JsonNode> {
+
+    private static final JacksonAccess INSTANCE = new JacksonAccess();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JacksonAccess() { }
+
+    public static JacksonAccess jackson() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks the next value of the parser, consuming it.
+     * @param schema Schema to check the value against
+     * @param parser Parser positioned in front of the value to check
+     * @return the result of the check
+     * @throws IOException if the parser fails, the JSON is malformed or there is no value left
+     */
+    public static CheckResult check(final @NotNull JsonSchema schema, final @NotNull JsonParser parser) throws IOException {
+        return check(schema, parser, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the next value of the parser using the given options. <br>
+     * The value is read into a tree of {@link JsonNode}s, as conditionals may reference keys appearing after their destination.
+     * @param schema Schema to check the value against
+     * @param parser Parser positioned in front of the value to check
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws IOException if the parser fails, the JSON is malformed or there is no value left
+     */
+    public static CheckResult check(final @NotNull JsonSchema schema, final @NotNull JsonParser parser, final @NotNull CheckOptions options) throws IOException {
+        final JsonNode json = MAPPER.readTree(parser);
+        if (json == null) throw new EOFException("The parser holds no JSON value!");
+        return schema.check(json, INSTANCE, options);
+    }
+
+    @Override
+    public boolean isObject(@NotNull JsonNode node) {
+        return node.isObject();
+    }
+
+    @Override
+    public boolean isArray(@NotNull JsonNode node) {
+        return node.isArray();
+    }
+
+    @Override
+    public boolean isPrimitive(@NotNull JsonNode node) {
+        return node.isTextual() || node.isNumber() || node.isBoolean();
+    }
+
+    @Override
+    public boolean isNumber(@NotNull JsonNode node) {
+        return node.isNumber();
+    }
+
+    @Override
+    public boolean isBoolean(@NotNull JsonNode node) {
+        return node.isBoolean();
+    }
+
+    @Override
+    public String getAsString(@NotNull JsonNode primitive) {
+        return (primitive.isTextual()) ? primitive.textValue() : primitive.asText();
+    }
+
+    @Override
+    public boolean getAsBoolean(@NotNull JsonNode bool) {
+        return bool.booleanValue();
+    }
+
+    @Override
+    public Number getAsNumber(@NotNull JsonNode number) {
+        return number.numberValue();
+    }
+
+    @Override
+    public JsonNode get(@NotNull JsonNode object, @NotNull String key) {
+        return object.get(key);
+    }
+
+    @Override
+    public Iterable<Map.Entry<String, JsonNode>> entries(@NotNull JsonNode object) {
+        return object::fields;
+    }
+
+    @Override
+    public int size(@NotNull JsonNode array) {
+        return array.size();
+    }
+
+    @Override
+    public JsonNode get(@NotNull JsonNode array, int index) {
+        return array.get(index);
+    }
+}
@@ -0,0 +1,125 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.ErrorCode;
+import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
+
+import java.util.Comparator;
+
+/**
+ * An error found by a check, together with the location of the element it was found at.
+ * @see CheckResult#getErrors()
+ */
+public class CheckError {
+
+    /**
+     * Orders errors by their pointer. Errors at the same pointer keep their order when sorted.
+     */
+    public static final Comparator<CheckError> BY_POINTER = Comparator.comparing(CheckError::getPointer);
+
+    private final String pointer;
+    private final String path;
+    private final JsonFormatCheckError error;
+
+    CheckError(String pointer, String path, JsonFormatCheckError error) {
+        this.pointer = pointer;
+        this.path = path;
+        this.error = error;
+    }
+
+    /**
+     * The location of the element as a JSON Pointer (RFC 6901), e.g. {@code "/weapon_data/tags/2"}.
+     * The root element is {@code ""}.
+     */
+    public String getPointer() {
+        return pointer;
+    }
+
+    /**
+     * The location of the element as used by {@link CheckResult#getErrorMsgs()}, e.g. {@code "weapon_data.tags[2]"}.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    public ErrorCode getCode() {
+        return error.getCode();
+    }
+
+    public JsonFormatCheckError getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return error.getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return getCode() + " at \"" + pointer + "\": " + getMessage();
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Pointers
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Appends a reference token to the pointer, escaping {@code '~'} and {@code '/'}.
+     */
+    static void appendToken(StringBuilder pointer, String token) {
+        pointer.append('/');
+        for (int i = 0; i < token.length(); i++) {
+            final char c = token.charAt(i);
+            if (c == '~') pointer.append("~0");
+            else if (c == '/') pointer.append("~1");
+            else pointer.append(c);
+        }
+    }
+
+    /**
+     * Converts a path like {@code "weapon_data.tags[2]"} into a pointer. <br>
+     * Keys holding {@code '.'} or {@code '['} can't be told apart from nested elements, so they are split.
+     */
+    static String toPointer(String path) {
+        final StringBuilder pointer = new StringBuilder(path.length() + 8);
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            final char c = (i == path.length()) ? '.' : path.charAt(i);
+            if (c != '.' && c != '[' && c != ']') continue;
+
+            if (i > start) appendToken(pointer, path.substring(start, i));
+            start = i + 1;
+        }
+        return pointer.toString();
+    }
+
+    /**
+     * Splits a pointer into its unescaped reference tokens. The root pointer {@code ""} has no tokens.
+     * @throws IllegalArgumentException if the pointer is malformed
+     */
+    static String[] toTokens(String pointer) {
+        if (pointer.isEmpty()) return new String[0];
+        if (pointer.charAt(0) != '/') throw new IllegalArgumentException("The JSON Pointer \"" + pointer + "\" does not start with '/'!");
+
+        final String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            final String token = tokens[i];
+            if (token.indexOf('~') < 0) continue;
+
+            final StringBuilder unescaped = new StringBuilder(token.length());
+            for (int j = 0; j < token.length(); j++) {
+                final char c = token.charAt(j);
+                if (c != '~') {
+                    unescaped.append(c);
+                    continue;
+                }
+
+                final char escaped = (j + 1 < token.length()) ? token.charAt(++j) : ' ';
+                if (escaped == '0') unescaped.append('~');
+                else if (escaped == '1') unescaped.append('/');
+                else throw new IllegalArgumentException("The JSON Pointer \"" + pointer + "\" holds an invalid escape sequence!");
+            }
+            tokens[i] = unescaped.toString();
+        }
+        return tokens;
+    }
+}
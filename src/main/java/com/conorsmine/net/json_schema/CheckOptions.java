@@ -0,0 +1,128 @@
+package com.conorsmine.net.json_schema;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options changing how a {@link JsonSchema} checks a JSON. <br>
+ * By default a "deep check" is done, collecting every error in the JSON.
+ */
+public class CheckOptions {
+
+    private static final CheckOptions DEEP = builder().build();
+    private static final CheckOptions FAIL_FAST = builder().setMaxErrors(1).build();
+
+    private final int maxErrors;
+    private final int parallelThreshold;
+    private final ForkJoinPool forkJoinPool;
+    private final ValidationListener listener;
+
+    private CheckOptions(int maxErrors, int parallelThreshold, ForkJoinPool forkJoinPool, ValidationListener listener) {
+        this.maxErrors = maxErrors;
+        this.parallelThreshold = parallelThreshold;
+        this.forkJoinPool = forkJoinPool;
+        this.listener = listener;
+    }
+
+    /**
+     * Collect every error in the JSON.
+     */
+    public static CheckOptions deep() {
+        return DEEP;
+    }
+
+    /**
+     * Stop checking once the first error was found.
+     */
+    public static CheckOptions failFast() {
+        return FAIL_FAST;
+    }
+
+    /**
+     * Stop checking once the given amount of errors were found.
+     * @param maxErrors Amount of errors to collect at most
+     */
+    public static CheckOptions maxErrors(int maxErrors) {
+        return builder().setMaxErrors(maxErrors).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    /**
+     * @return the listener of the checks, or {@code null} to use the listener of the schema
+     */
+    public @Nullable ValidationListener getListener() {
+        return listener;
+    }
+
+    public static class Builder {
+
+        private int maxErrors = Integer.MAX_VALUE;
+        private int parallelThreshold = 0;
+        private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+        private ValidationListener listener = null;
+
+        private Builder() { }
+
+        /**
+         * Sets the amount of errors after which the check stops.
+         * @param maxErrors Amount of errors to collect at most
+         */
+        public Builder setMaxErrors(int maxErrors) {
+            if (maxErrors < 1) throw new UnsupportedOperationException("The maxErrors value must be >= 1!");
+            this.maxErrors = maxErrors;
+            return this;
+        }
+
+        /**
+         * Checks the elements of all arrays with at least the given size in parallel. <br>
+         * Arrays are split into a few chunks per thread of the pool, the errors are collected in the same order as in a serial check.
+         * Only applies to checks of a {@link com.google.gson.JsonElement}.
+         * @param parallelThreshold Smallest array size checked in parallel, {@code 0} to disable
+         * @see com.conorsmine.net.json_schema.tags.TagArr.Builder#setParallelThreshold(int)
+         */
+        public Builder setParallelThreshold(int parallelThreshold) {
+            if (parallelThreshold < 0) throw new UnsupportedOperationException("The parallelThreshold value must be >= 0!");
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the pool parallel checks are run in. Defaults to the common pool.
+         * @param forkJoinPool Pool to use
+         */
+        public Builder setForkJoinPool(final @NotNull ForkJoinPool forkJoinPool) {
+            this.forkJoinPool = forkJoinPool;
+            return this;
+        }
+
+        /**
+         * Sets the listener notified about the checks, replacing the listener of the schema.
+         * @param listener Listener to notify
+         */
+        public Builder setListener(final @NotNull ValidationListener listener) {
+            this.listener = listener;
+            return this;
+        }
+
+        public CheckOptions build() {
+            return new CheckOptions(maxErrors, parallelThreshold, forkJoinPool, listener);
+        }
+    }
+}
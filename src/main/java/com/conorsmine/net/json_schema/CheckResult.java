@@ -1,27 +1,84 @@
 package com.conorsmine.net.json_schema;
 
 import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
-import com.conorsmine.net.json_schema.tags.JsonTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class CheckResult {
 
-    private final Map<String, JsonFormatCheckError> errorMsgs;
+    private static final CheckResult VALID = new CheckResult(Collections.emptyList());
 
-    CheckResult(Map<String, JsonFormatCheckError> errorMsgs) {
-        this.errorMsgs = Collections.unmodifiableMap(errorMsgs.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .collect(LinkedHashMap::new, (map, entry) -> map.put(entry.getKey(), entry.getValue()), Map::putAll));
+    private final List<CheckError> errors;
+    // Views created on first use. Racing threads create equal views, so no locking is needed.
+    private volatile List<CheckError> sortedErrors;
+    private volatile Map<String, JsonFormatCheckError> errorMsgs;
+
+    /**
+     * @param errors Errors of the result, owned by the result from now on
+     */
+    CheckResult(List<CheckError> errors) {
+        this.errors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * The result of a check without any errors. <br>
+     * All valid checks share this instance.
+     */
+    public static CheckResult valid() {
+        return VALID;
     }
 
     public boolean isValid() {
-        return errorMsgs.isEmpty();
+        return errors.isEmpty();
+    }
+
+    /**
+     * All errors in the order they were found. Multiple errors of the same element are all kept.
+     * @see #getSortedErrors()
+     */
+    public List<CheckError> getErrors() {
+        return errors;
     }
 
+    /**
+     * All errors sorted by their pointer. The errors are only sorted on the first call.
+     * @see CheckError#BY_POINTER
+     */
+    public List<CheckError> getSortedErrors() {
+        List<CheckError> sortedErrors = this.sortedErrors;
+        if (sortedErrors != null) return sortedErrors;
+
+        final List<CheckError> sorted = new ArrayList<>(errors);
+        sorted.sort(CheckError.BY_POINTER);
+        sortedErrors = Collections.unmodifiableList(sorted);
+        this.sortedErrors = sortedErrors;
+        return sortedErrors;
+    }
+
+    /**
+     * The errors by path, sorted by path. <br>
+     * Only the last error of each path is included, prefer {@link #getErrors()} to see all errors.
+     */
     public Map<String, JsonFormatCheckError> getErrorMsgs() {
+        Map<String, JsonFormatCheckError> errorMsgs = this.errorMsgs;
+        if (errorMsgs != null) return errorMsgs;
+
+        if (errors.isEmpty()) errorMsgs = Collections.emptyMap();
+        else {
+            final Map<String, JsonFormatCheckError> map = new TreeMap<>();
+            for (CheckError error : errors) map.put(error.getPath(), error.getError());
+            errorMsgs = Collections.unmodifiableMap(map);
+        }
+        this.errorMsgs = errorMsgs;
         return errorMsgs;
     }
 
@@ -31,24 +88,279 @@ public class CheckResult {
 
     public static class Builder {
 
-        private final Map<String, JsonTag> groupMap;
-        private final Map<String, JsonFormatCheckError> errorMsgs = new LinkedHashMap<>();
+        private final List<CheckError> errors = new ArrayList<>();
+        private CheckOptions options;
+        private ValidationListener listener;
+        private int maxErrors;
+        private final boolean discarding;
+        // Whether a reused builder belongs to a running check, only used by the thread reusing it
+        private boolean inUse = false;
+
+        // The path of the element currently being checked, one segment per level.
+        // A null key marks the segment as an array index.
+        private String[] pathKeys = new String[16];
+        private int[] pathIndices = new int[16];
+        private int pathDepth = 0;
 
-        Builder(Map<String, JsonTag> groupMap) {
-            this.groupMap = groupMap;
+        Builder(CheckOptions options) {
+            this(options, options.getMaxErrors());
         }
 
+        private Builder(CheckOptions options, int maxErrors) {
+            this.options = options;
+            this.listener = options.getListener();
+            this.maxErrors = maxErrors;
+            this.discarding = false;
+        }
+
+        private Builder() {
+            this.options = CheckOptions.deep();
+            this.maxErrors = 0;
+            this.discarding = true;
+        }
+
+        /**
+         * Creates a builder which drops all errors and paths and is exhausted from the start. <br>
+         * It holds no state, so a single instance can be shared by all threads only asking for a boolean result.
+         */
+        static Builder discarding() {
+            return new Builder();
+        }
+
+        /**
+         * Adds an error for the element at the path.
+         * @param key Path of the element, e.g. {@code "weapon_data.tags[2]"}
+         * @param error The error
+         * @see #addError(Function)
+         */
         public Builder addError(String key, JsonFormatCheckError error) {
-            errorMsgs.put(key, error);
+            if (isExhausted()) return this;
+            return addError(CheckError.toPointer(key), key, error);
+        }
+
+        /**
+         * Adds an error for the element currently being checked. <br>
+         * The path is only rendered to a string at this point.
+         * @param error Creates the error from the rendered path
+         */
+        public Builder addError(final @NotNull Function<String, JsonFormatCheckError> error) {
+            if (isExhausted()) return this;
+
+            final String path = getPath();
+            return addError(getPointer(), path, error.apply(path));
+        }
+
+        private Builder addError(String pointer, String path, JsonFormatCheckError error) {
+            if (listener != null) listener.onError(path, error, this);
+            errors.add(new CheckError(pointer, path, error));
             return this;
         }
 
-        public CheckResult build() {
-            return new CheckResult(errorMsgs);
+        /**
+         * Marks a reused builder as belonging to a check, until it is {@link #release() released} again.
+         * @return {@code false} if the builder already belongs to a check which is still running
+         */
+        boolean acquire() {
+            if (inUse) return false;
+            inUse = true;
+            return true;
+        }
+
+        void release() {
+            inUse = false;
+        }
+
+        /**
+         * Clears the builder, so it can be reused for another check.
+         * @param options Options of the next check
+         */
+        Builder reset(CheckOptions options) {
+            errors.clear();
+            Arrays.fill(pathKeys, 0, pathDepth, null);
+            pathDepth = 0;
+            this.options = options;
+            this.listener = options.getListener();
+            this.maxErrors = options.getMaxErrors();
+            return this;
+        }
+
+        /**
+         * The listener notified about this check.
+         * @return the listener, or {@code null} if there is none
+         */
+        public @Nullable ValidationListener getListener() {
+            return listener;
+        }
+
+        Builder setListener(@Nullable ValidationListener listener) {
+            if (!discarding) this.listener = listener;
+            return this;
+        }
+
+        /**
+         * Whether the error budget of the check is used up. <br>
+         * Once this is the case, tags should stop checking and return {@code false}.
+         * @see CheckOptions#getMaxErrors()
+         */
+        public boolean isExhausted() {
+            return errors.size() >= maxErrors;
+        }
+
+        /**
+         * Descends into the value of the key.
+         * @param key Key of the object value being checked next
+         */
+        public Builder pushKey(final @NotNull String key) {
+            if (discarding) return this;
+
+            ensurePathCapacity();
+            pathKeys[pathDepth] = key;
+            pathDepth++;
+            return this;
+        }
+
+        /**
+         * Descends into the element at the index.
+         * @param index Index of the array element being checked next
+         */
+        public Builder pushIndex(int index) {
+            if (discarding) return this;
+
+            ensurePathCapacity();
+            pathKeys[pathDepth] = null;
+            pathIndices[pathDepth] = index;
+            pathDepth++;
+            return this;
+        }
+
+        /**
+         * Leaves the last key or index pushed.
+         */
+        public Builder pop() {
+            if (discarding) return this;
+
+            pathKeys[--pathDepth] = null;
+            return this;
+        }
+
+        /**
+         * Renders the path of the element currently being checked, e.g. {@code "weapon_data.tags[2]"}.
+         */
+        public String getPath() {
+            final StringBuilder path = new StringBuilder();
+            for (int i = 0; i < pathDepth; i++) {
+                if (pathKeys[i] == null) {
+                    path.append('[').append(pathIndices[i]).append(']');
+                    continue;
+                }
+
+                if (path.length() > 0) path.append('.');
+                path.append(pathKeys[i]);
+            }
+            return path.toString();
+        }
+
+        /**
+         * Renders the path of the element currently being checked as a JSON Pointer (RFC 6901),
+         * e.g. {@code "/weapon_data/tags/2"}.
+         */
+        public String getPointer() {
+            final StringBuilder pointer = new StringBuilder();
+            for (int i = 0; i < pathDepth; i++) {
+                if (pathKeys[i] == null) pointer.append('/').append(pathIndices[i]);
+                else CheckError.appendToken(pointer, pathKeys[i]);
+            }
+            return pointer.toString();
+        }
+
+        /**
+         * The amount of keys and indices in the path of the element currently being checked.
+         */
+        public int getPathDepth() {
+            return pathDepth;
         }
 
-        public Map<String, JsonTag> getGroupMap() {
-            return groupMap;
+        /**
+         * The key at the given depth of the path, without rendering the path.
+         * @param depth Depth of the key, {@code 0} being the outermost
+         * @return the key, or {@code null} if there is an array index at this depth
+         * @see #getPathIndex(int)
+         */
+        public @Nullable String getPathKey(int depth) {
+            if (depth < 0 || depth >= pathDepth) throw new IndexOutOfBoundsException("The depth " + depth + " is outside of the path!");
+            return pathKeys[depth];
+        }
+
+        /**
+         * The array index at the given depth of the path, without rendering the path.
+         * @param depth Depth of the index, {@code 0} being the outermost
+         * @return the index, only meaningful if {@link #getPathKey(int)} is {@code null}
+         */
+        public int getPathIndex(int depth) {
+            if (depth < 0 || depth >= pathDepth) throw new IndexOutOfBoundsException("The depth " + depth + " is outside of the path!");
+            return pathIndices[depth];
+        }
+
+        private void ensurePathCapacity() {
+            if (pathDepth < pathKeys.length) return;
+            pathKeys = Arrays.copyOf(pathKeys, pathDepth * 2);
+            pathIndices = Arrays.copyOf(pathIndices, pathDepth * 2);
+        }
+
+        /**
+         * The smallest array size for which the elements of an array are checked in parallel.
+         * @return the threshold, or {@code 0} if arrays are only checked in parallel when their tag asks for it
+         * @see CheckOptions.Builder#setParallelThreshold(int)
+         */
+        public int getParallelThreshold() {
+            return options.getParallelThreshold();
+        }
+
+        /**
+         * The pool parallel checks are run in.
+         */
+        public ForkJoinPool getForkJoinPool() {
+            return options.getForkJoinPool();
+        }
+
+        /**
+         * Creates an empty builder sharing the current path and the remaining error budget of this builder. <br>
+         * Errors reported to it can later be added to this builder using {@link #merge(Builder)}.
+         * Each fork may be used by a different thread.
+         */
+        public Builder fork() {
+            if (discarding) return this;
+
+            final Builder fork = new Builder(options, maxErrors - errors.size());
+            fork.listener = listener;
+            fork.pathKeys = Arrays.copyOf(pathKeys, pathKeys.length);
+            fork.pathIndices = Arrays.copyOf(pathIndices, pathIndices.length);
+            fork.pathDepth = pathDepth;
+            return fork;
+        }
+
+        /**
+         * Adds all errors of the other builder to this builder.
+         * @param other Builder to take the errors from
+         */
+        public Builder merge(final @NotNull Builder other) {
+            if (other == this) return this;
+
+            // The listener was already notified by the other builder
+            for (CheckError error : other.errors) {
+                if (isExhausted()) break;
+                errors.add(error);
+            }
+            return this;
+        }
+
+        /**
+         * Creates the result of the errors added so far. <br>
+         * Without errors, the shared {@link CheckResult#valid()} result is returned.
+         */
+        public CheckResult build() {
+            if (errors.isEmpty()) return VALID;
+            return new CheckResult(new ArrayList<>(errors));
         }
     }
 }
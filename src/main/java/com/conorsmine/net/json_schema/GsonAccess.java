@@ -0,0 +1,77 @@
+package com.conorsmine.net.json_schema;
+
+import com.google.gson.JsonElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+
+/**
+ * Access to Gson {@link JsonElement}s.
+ * @see JsonAccess#gson()
+ */
+final class GsonAccess implements JsonAccess<JsonElement> {
+
+    static final GsonAccess INSTANCE = new GsonAccess();
+
+    private GsonAccess() { }
+
+    @Override
+    public boolean isObject(@NotNull JsonElement node) {
+        return node.isJsonObject();
+    }
+
+    @Override
+    public boolean isArray(@NotNull JsonElement node) {
+        return node.isJsonArray();
+    }
+
+    @Override
+    public boolean isPrimitive(@NotNull JsonElement node) {
+        return node.isJsonPrimitive();
+    }
+
+    @Override
+    public boolean isNumber(@NotNull JsonElement node) {
+        return node.isJsonPrimitive() && node.getAsJsonPrimitive().isNumber();
+    }
+
+    @Override
+    public boolean isBoolean(@NotNull JsonElement node) {
+        return node.isJsonPrimitive() && node.getAsJsonPrimitive().isBoolean();
+    }
+
+    @Override
+    public String getAsString(@NotNull JsonElement primitive) {
+        return primitive.getAsString();
+    }
+
+    @Override
+    public boolean getAsBoolean(@NotNull JsonElement bool) {
+        return bool.getAsBoolean();
+    }
+
+    @Override
+    public Number getAsNumber(@NotNull JsonElement number) {
+        return number.getAsNumber();
+    }
+
+    @Override
+    public JsonElement get(@NotNull JsonElement object, @NotNull String key) {
+        return object.getAsJsonObject().get(key);
+    }
+
+    @Override
+    public Iterable<Map.Entry<String, JsonElement>> entries(@NotNull JsonElement object) {
+        return object.getAsJsonObject().entrySet();
+    }
+
+    @Override
+    public int size(@NotNull JsonElement array) {
+        return array.getAsJsonArray().size();
+    }
+
+    @Override
+    public JsonElement get(@NotNull JsonElement array, int index) {
+        return array.getAsJsonArray().get(index);
+    }
+}
@@ -0,0 +1,133 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.tags.SubtreeChecker;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Checks a document again after parts of it changed, reusing the errors of the unchanged parts. <br>
+ * Every changed node is mapped to the smallest subtree which has to be checked again.
+ * The errors of the previous result inside these subtrees are replaced by the errors found checking them.
+ */
+class IncrementalChecker {
+
+    private final SubtreeChecker subtreeChecker;
+    private final CheckResult.Builder builder;
+
+    IncrementalChecker(SubtreeChecker subtreeChecker, CheckResult.Builder builder) {
+        this.subtreeChecker = subtreeChecker;
+        this.builder = builder;
+    }
+
+    <N> CheckResult recheck(N json, JsonAccess<N> access, CheckResult previous, Collection<String> changedPointers) {
+        // Sorted by pointer, so the new errors are reported in the same order every time
+        final TreeMap<String, String[]> subtrees = new TreeMap<>();
+        for (String changedPointer : changedPointers) {
+            final String[] tokens = CheckError.toTokens(changedPointer);
+            final int depth = subtreeChecker.locate(json, access, tokens);
+            if (depth < 0) continue;
+
+            final StringBuilder pointer = new StringBuilder();
+            for (int i = 0; i < depth; i++) CheckError.appendToken(pointer, tokens[i]);
+            subtrees.put(pointer.toString(), (depth == tokens.length) ? tokens : Arrays.copyOf(tokens, depth));
+        }
+        if (subtrees.isEmpty()) return previous;
+
+        // Subtrees inside of other subtrees are checked as part of them
+        final Set<String> subtreePointers = subtrees.keySet();
+        for (Map.Entry<String, String[]> subtree : subtrees.entrySet()) {
+            if (isInsideOther(subtree.getKey(), subtreePointers)) continue;
+            subtreeChecker.check(json, access, subtree.getValue(), subtree.getValue().length, builder);
+        }
+
+        final List<CheckError> errors = new ArrayList<>();
+        for (CheckError error : previous.getErrors()) {
+            if (!subtreePointers.contains(error.getPointer()) && !isInsideOther(error.getPointer(), subtreePointers)) errors.add(error);
+        }
+        errors.addAll(builder.build().getErrors());
+        return errors.isEmpty() ? CheckResult.valid() : new CheckResult(errors);
+    }
+
+    /**
+     * Collects the pointers of the nodes changed by a JSON Patch (RFC 6902). <br>
+     * Adding or removing an element of an array moves all elements after it, so the array itself is changed.
+     * @param json Document the patch was applied to
+     * @param patch Operations of the patch
+     * @throws IllegalArgumentException if an operation is malformed
+     */
+    static List<String> getChangedPointers(JsonElement json, JsonArray patch) {
+        final List<String> pointers = new ArrayList<>();
+        for (int i = 0; i < patch.size(); i++) {
+            final JsonObject operation = patch.get(i).isJsonObject() ? patch.get(i).getAsJsonObject() : null;
+            final String op = getMember(operation, "op", i);
+            switch (op) {
+                case "test":
+                    break;
+                case "replace":
+                    pointers.add(getMember(operation, "path", i));
+                    break;
+                case "move":
+                    pointers.add(getMovedPointer(json, getMember(operation, "from", i)));
+                    pointers.add(getMovedPointer(json, getMember(operation, "path", i)));
+                    break;
+                case "add":
+                case "remove":
+                case "copy":
+                    pointers.add(getMovedPointer(json, getMember(operation, "path", i)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("The patch operation " + i + " has the unknown op \"" + op + "\"!");
+            }
+        }
+        return pointers;
+    }
+
+    private static String getMember(JsonObject operation, String member, int index) {
+        final JsonElement value = (operation == null) ? null : operation.get(member);
+        if (value == null || !value.isJsonPrimitive() || !value.getAsJsonPrimitive().isString())
+            throw new IllegalArgumentException("The patch operation " + index + " has no \"" + member + "\"!");
+        return value.getAsString();
+    }
+
+    // Elements added to or removed from an array change the array
+    private static String getMovedPointer(JsonElement json, String pointer) {
+        final int parentEnd = pointer.lastIndexOf('/');
+        if (parentEnd < 0) return pointer;
+
+        JsonElement parent = json;
+        for (String token : CheckError.toTokens(pointer.substring(0, parentEnd))) {
+            if (parent.isJsonObject()) parent = parent.getAsJsonObject().get(token);
+            else if (parent.isJsonArray() && isIndex(token, parent.getAsJsonArray().size())) parent = parent.getAsJsonArray().get(Integer.parseInt(token));
+            else parent = null;
+
+            if (parent == null) return pointer;
+        }
+        return parent.isJsonArray() ? pointer.substring(0, parentEnd) : pointer;
+    }
+
+    private static boolean isIndex(String token, int size) {
+        if (token.isEmpty() || token.length() > 9 || (token.length() > 1 && token.charAt(0) == '0')) return false;
+        for (int i = 0; i < token.length(); i++)
+            if (token.charAt(i) < '0' || token.charAt(i) > '9') return false;
+        return Integer.parseInt(token) < size;
+    }
+
+    // Whether a parent of the node at the pointer is the root of one of the subtrees
+    private static boolean isInsideOther(String pointer, Set<String> subtreePointers) {
+        if (pointer.isEmpty()) return false;
+        if (subtreePointers.contains("")) return true;
+
+        for (int end = pointer.indexOf('/', 1); end > 0; end = pointer.indexOf('/', end + 1))
+            if (subtreePointers.contains(pointer.substring(0, end))) return true;
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.conorsmine.net.json_schema;
+
+import com.google.gson.JsonElement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+
+/**
+ * Read only access to the nodes of a document of any JSON library. <br>
+ * Tags check documents through this interface, so documents of other libraries
+ * can be checked without converting them to Gson first.
+ * Implementations hold no state and may be used by any amount of threads at the same time.
+ * @param <N> Type of the nodes of the library
+ * @see JsonSchema#check(Object, JsonAccess)
+ */
+public interface JsonAccess<N> {
+
+    /**
+     * The access to Gson {@link JsonElement}s.
+     */
+    static JsonAccess<JsonElement> gson() {
+        return GsonAccess.INSTANCE;
+    }
+
+    boolean isObject(@NotNull N node);
+
+    boolean isArray(@NotNull N node);
+
+    /**
+     * Whether the node is a string, number or boolean. JSON {@code null} is no primitive.
+     */
+    boolean isPrimitive(@NotNull N node);
+
+    boolean isNumber(@NotNull N node);
+
+    boolean isBoolean(@NotNull N node);
+
+    /**
+     * The text of a primitive. Numbers are returned as written, booleans as {@code "true"} or {@code "false"}.
+     * @param primitive Node for which {@link #isPrimitive(Object)} is {@code true}
+     */
+    String getAsString(@NotNull N primitive);
+
+    /**
+     * @param bool Node for which {@link #isBoolean(Object)} is {@code true}
+     */
+    boolean getAsBoolean(@NotNull N bool);
+
+    /**
+     * The value of a number. Numbers of any type other than {@link Integer}, {@link Long},
+     * {@link Float} and {@link Double} have to return the number as written by {@link Number#toString()}.
+     * @param number Node for which {@link #isNumber(Object)} is {@code true}
+     */
+    Number getAsNumber(@NotNull N number);
+
+    /**
+     * @param object Node for which {@link #isObject(Object)} is {@code true}
+     * @param key Key of the value
+     * @return the value of the key, or {@code null} if the object doesn't hold the key
+     */
+    @Nullable N get(@NotNull N object, @NotNull String key);
+
+    /**
+     * The entries of an object, read instead of looking up each key where all keys are needed. <br>
+     * Libraries which can't iterate their objects cheaply keep the default, which returns {@code null}.
+     * @param object Node for which {@link #isObject(Object)} is {@code true}
+     * @return the keys and values of the object, or {@code null} if it is only read by key
+     */
+    default @Nullable Iterable<Map.Entry<String, N>> entries(@NotNull N object) {
+        return null;
+    }
+
+    /**
+     * @param array Node for which {@link #isArray(Object)} is {@code true}
+     */
+    int size(@NotNull N array);
+
+    /**
+     * @param array Node for which {@link #isArray(Object)} is {@code true}
+     * @param index Index of the element, between {@code 0} and the size of the array
+     */
+    N get(@NotNull N array, int index);
+}
@@ -0,0 +1,158 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.ErrorCode;
+import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
+import com.google.gson.JsonParseException;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+/**
+ * Checks JSON Lines (NDJSON) files. <br>
+ * The file is memory mapped and split into chunks ending on a line break.
+ * The chunks are checked in parallel, while the results are reported in the order of the lines.
+ */
+class JsonLinesChecker {
+
+    private static final int CHUNK_SIZE = 8 << 20;
+    private static final int SCAN_BUFFER_SIZE = 8 << 10;
+
+    private final JsonSchema schema;
+    private final CheckOptions options;
+
+    JsonLinesChecker(JsonSchema schema, CheckOptions options) {
+        this.schema = schema;
+        this.options = options;
+    }
+
+    void check(Path file, Consumer<? super LineCheckResult> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final ForkJoinPool pool = options.getForkJoinPool();
+            // Only a few chunks are held at once, so the memory used doesn't grow with the file
+            final int maxPendingChunks = pool.getParallelism() * 2;
+            final Deque<ForkJoinTask<List<CheckResult>>> pendingChunks = new ArrayDeque<>();
+
+            long chunkStart = 0;
+            long lineNumber = 1;
+            while (chunkStart < size || !pendingChunks.isEmpty()) {
+                while (chunkStart < size && pendingChunks.size() < maxPendingChunks) {
+                    final long start = chunkStart, end = findChunkEnd(channel, start, size);
+                    pendingChunks.add(pool.submit(() -> checkChunk(channel, start, end)));
+                    chunkStart = end;
+                }
+
+                for (CheckResult result : joinChunk(pendingChunks.poll())) {
+                    if (result != null) consumer.accept(new LineCheckResult(lineNumber, result));
+                    lineNumber++;
+                }
+            }
+        }
+    }
+
+    private static List<CheckResult> joinChunk(ForkJoinTask<List<CheckResult>> chunk) throws IOException {
+        try {
+            return chunk.join();
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw e;
+        }
+    }
+
+    // The chunk ends after the first line break at or after its intended size
+    private static long findChunkEnd(FileChannel channel, long start, long size) throws IOException {
+        long position = Math.min(start + CHUNK_SIZE, size) - 1;
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) break;
+
+            for (int i = 0; i < read; i++)
+                if (buffer.get(i) == '\n') return position + i + 1;
+            position += read;
+        }
+
+        return size;
+    }
+
+    // Returns one result per line of the chunk, null for blank lines
+    private List<CheckResult> checkChunk(FileChannel channel, long start, long end) throws IOException {
+        final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        final List<CheckResult> results = new ArrayList<>();
+        final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        byte[] lineBytes = new byte[256];
+        CharBuffer lineChars = CharBuffer.allocate(256);
+
+        int lineStart = 0;
+        final int limit = buffer.limit();
+        for (int i = 0; i <= limit; i++) {
+            if (i < limit && buffer.get(i) != '\n') continue;
+            if (i == limit && lineStart == limit) break;
+
+            int lineEnd = i;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') lineEnd--;
+
+            final int length = lineEnd - lineStart;
+            if (lineBytes.length < length) lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+            final ByteBuffer line = buffer.duplicate();
+            line.position(lineStart).limit(lineEnd);
+            line.get(lineBytes, 0, length);
+
+            if (isBlank(lineBytes, length)) results.add(null);
+            else {
+                // UTF-8 never decodes to more chars than it has bytes
+                if (lineChars.capacity() < length) lineChars = CharBuffer.allocate(Math.max(length, lineChars.capacity() * 2));
+                results.add(checkLine(decoder, ByteBuffer.wrap(lineBytes, 0, length), lineChars));
+            }
+            lineStart = i + 1;
+        }
+
+        return results;
+    }
+
+    // Malformed UTF-8 is reported like malformed JSON, instead of being replaced while decoding
+    private CheckResult checkLine(CharsetDecoder decoder, ByteBuffer line, CharBuffer chars) {
+        decoder.reset();
+        chars.clear();
+        final CoderResult decoded = decoder.decode(line, chars, true);
+        if (decoded.isError()) return malformed("The line is not valid UTF-8! Malformed input of " + decoded.length() + " bytes at byte " + line.position());
+        decoder.flush(chars);
+
+        try {
+            return schema.check(new CharArrayReader(chars.array(), 0, chars.position()), options);
+        } catch (IOException | JsonParseException e) {
+            return malformed("The line is not valid JSON! " + e.getMessage());
+        }
+    }
+
+    private static CheckResult malformed(String message) {
+        return new CheckResult(Collections.singletonList(new CheckError("", "", new JsonFormatCheckError(ErrorCode.MALFORMED_JSON, () -> message))));
+    }
+
+    private static boolean isBlank(byte[] bytes, int length) {
+        for (int i = 0; i < length; i++)
+            if (bytes[i] != ' ' && bytes[i] != '\t') return false;
+        return true;
+    }
+}
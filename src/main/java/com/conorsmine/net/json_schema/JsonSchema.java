@@ -1,32 +1,430 @@
 package com.conorsmine.net.json_schema;
 
 import com.conorsmine.net.json_schema.tags.JsonTag;
-import com.conorsmine.net.json_schema.tags.TagPredicate;
+import com.conorsmine.net.json_schema.tags.SchemaSnapshot;
+import com.conorsmine.net.json_schema.tags.SubtreeChecker;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
-import java.util.HashMap;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * A compiled schema a JSON can be checked against. <br>
+ * Schemas and all tags they are made of are immutable once built,
+ * so a single schema can be used by any amount of threads at the same time.
+ */
 public class JsonSchema {
 
-    private final Map<String, JsonTag> groupMap;
-    private final TagPredicate predicate;
+    private final JsonTag predicate;
+    // The tags the schema was built from, kept to write snapshots
+    private final JsonTag sourceTag;
+    private final Map<String, JsonTag> sourceGroups;
+    private final ValidationListener listener;
+    private final SubtreeChecker subtreeChecker;
+    private final ShapeCache shapeCache;
+    private final CheckResult.Builder discardingBuilder = CheckResult.Builder.discarding();
+    // Scratch builders reused by the batch checks, one per thread
+    private final ThreadLocal<CheckResult.Builder> scratchBuilders = ThreadLocal.withInitial(() -> new CheckResult.Builder(CheckOptions.deep()));
 
-    JsonSchema(TagPredicate predicate) {
+    JsonSchema(JsonTag predicate, JsonTag sourceTag, Map<String, JsonTag> sourceGroups, @Nullable ValidationListener listener, @Nullable ShapeCache shapeCache) {
         this.predicate = predicate;
-        this.groupMap = new HashMap<>();
+        this.sourceTag = sourceTag;
+        this.sourceGroups = sourceGroups;
+        this.listener = listener;
+        this.subtreeChecker = new SubtreeChecker(predicate);
+        this.shapeCache = shapeCache;
     }
 
-    JsonSchema(TagPredicate predicate, Map<String, JsonTag> groupMap) {
-        this.predicate = predicate;
-        this.groupMap = Collections.unmodifiableMap(groupMap);
+    /**
+     * @return the cache of the verdicts of subtrees only checked by their shape, or {@code null} if the schema has none
+     * @see JsonSchemaBuilder#setShapeCache(int)
+     */
+    public @Nullable ShapeCache getShapeCache() {
+        return shapeCache;
+    }
+
+    /**
+     * Checks if the JSON complies with the schema without collecting any errors. <br>
+     * A valid JSON is checked without allocating anything, so prefer this over
+     * {@link #check(JsonElement)} when the result is only used as a boolean.
+     * If the schema has a listener, this is a fail fast check notifying it instead.
+     * @param json JSON to check
+     * @return whether the JSON complies with the schema
+     */
+    public boolean isValid(final @NotNull JsonElement json) {
+        return isValid(json, JsonAccess.gson());
+    }
+
+    /**
+     * Checks if the document of any JSON library complies with the schema without collecting any errors.
+     * @param json Root node of the document to check
+     * @param access Access to the nodes of the library
+     * @return whether the document complies with the schema
+     * @see #isValid(JsonElement)
+     */
+    public <N> boolean isValid(final @NotNull N json, final @NotNull JsonAccess<N> access) {
+        if (listener != null) return check(json, access, CheckOptions.failFast()).isValid();
+        return predicate.isValid(json, access, discardingBuilder);
     }
 
     public CheckResult check(final @NotNull JsonElement json) {
-        final CheckResult.Builder builder = new CheckResult.Builder(groupMap);
-        predicate.isValid(json, builder, null);
-        return new CheckResult(builder.build().getErrorMsgs());
+        return check(json, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the JSON using the given options.
+     * @param json JSON to check
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     */
+    public CheckResult check(final @NotNull JsonElement json, final @NotNull CheckOptions options) {
+        return check(json, JsonAccess.gson(), options);
+    }
+
+    /**
+     * Checks the document of any JSON library, without converting it to Gson first.
+     * @param json Root node of the document to check
+     * @param access Access to the nodes of the library
+     * @return the result of the check
+     */
+    public <N> CheckResult check(final @NotNull N json, final @NotNull JsonAccess<N> access) {
+        return check(json, access, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the document of any JSON library using the given options.
+     * @param json Root node of the document to check
+     * @param access Access to the nodes of the library
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @see #check(Object, JsonAccess)
+     */
+    public <N> CheckResult check(final @NotNull N json, final @NotNull JsonAccess<N> access, final @NotNull CheckOptions options) {
+        final CheckResult.Builder builder = createBuilder(options);
+        predicate.check(json, access, builder);
+        return builder.build();
+    }
+
+    /**
+     * Checks the JSON again after a JSON Patch (RFC 6902) was applied to it, only checking the changed subtrees. <br>
+     * The errors of the unchanged parts are taken from the previous result, so it has to be the result of a deep check
+     * of the JSON before the patch. Objects holding conditionals are checked as a whole if a key their conditionals
+     * read changed. The errors of the checked subtrees are listed after the kept errors,
+     * {@link CheckResult#getSortedErrors()} lists the errors in the same order as a full check.
+     * @param json JSON the patch was already applied to
+     * @param previous Result of checking the JSON before the patch
+     * @param patch Operations of the patch
+     * @return the result of the patched JSON
+     * @throws IllegalArgumentException if an operation or pointer of the patch is malformed
+     */
+    public CheckResult recheck(final @NotNull JsonElement json, final @NotNull CheckResult previous, final @NotNull JsonArray patch) {
+        return recheck(json, JsonAccess.gson(), previous, IncrementalChecker.getChangedPointers(json, patch));
+    }
+
+    /**
+     * Checks the JSON again after the nodes at the pointers changed, only checking the changed subtrees. <br>
+     * Elements added to or removed from an array move the elements after them,
+     * so such changes have to be passed as the pointer of the array.
+     * @param json Changed JSON
+     * @param previous Result of checking the JSON before the changes
+     * @param changedPointers JSON Pointers (RFC 6901) of the added, removed or replaced nodes
+     * @return the result of the changed JSON
+     * @throws IllegalArgumentException if a pointer is malformed
+     * @see #recheck(JsonElement, CheckResult, JsonArray)
+     */
+    public CheckResult recheck(final @NotNull JsonElement json, final @NotNull CheckResult previous, final @NotNull Collection<String> changedPointers) {
+        return recheck(json, JsonAccess.gson(), previous, changedPointers);
+    }
+
+    /**
+     * Checks the document of any JSON library again after the nodes at the pointers changed.
+     * @param json Root node of the changed document
+     * @param access Access to the nodes of the library
+     * @param previous Result of checking the document before the changes
+     * @param changedPointers JSON Pointers (RFC 6901) of the added, removed or replaced nodes
+     * @return the result of the changed document
+     * @throws IllegalArgumentException if a pointer is malformed
+     * @see #recheck(JsonElement, CheckResult, Collection)
+     */
+    public <N> CheckResult recheck(final @NotNull N json, final @NotNull JsonAccess<N> access, final @NotNull CheckResult previous, final @NotNull Collection<String> changedPointers) {
+        return new IncrementalChecker(subtreeChecker, createBuilder(CheckOptions.deep())).recheck(json, access, previous, changedPointers);
+    }
+
+    /**
+     * Checks all JSONs in parallel.
+     * @param jsons JSONs to check
+     * @return the results in the order of the JSONs
+     * @see #checkAll(Spliterator, CheckOptions)
+     */
+    public List<CheckResult> checkAll(final @NotNull Iterable<? extends JsonElement> jsons) {
+        return checkAll(jsons.spliterator(), CheckOptions.deep());
+    }
+
+    /**
+     * Checks all JSONs in parallel using the given options.
+     * @param jsons JSONs to check
+     * @param options Options of the checks
+     * @return the results in the order of the JSONs
+     * @see #checkAll(Spliterator, CheckOptions)
+     */
+    public List<CheckResult> checkAll(final @NotNull Iterable<? extends JsonElement> jsons, final @NotNull CheckOptions options) {
+        return checkAll(jsons.spliterator(), options);
+    }
+
+    /**
+     * Checks all JSONs of the stream in parallel.
+     * @param jsons JSONs to check
+     * @return the results in the encounter order of the stream
+     * @see #checkAll(Spliterator, CheckOptions)
+     */
+    public List<CheckResult> checkAll(final @NotNull Stream<? extends JsonElement> jsons) {
+        return checkAll(jsons.spliterator(), CheckOptions.deep());
+    }
+
+    /**
+     * Checks all JSONs of the stream in parallel using the given options.
+     * @param jsons JSONs to check
+     * @param options Options of the checks
+     * @return the results in the encounter order of the stream
+     * @see #checkAll(Spliterator, CheckOptions)
+     */
+    public List<CheckResult> checkAll(final @NotNull Stream<? extends JsonElement> jsons, final @NotNull CheckOptions options) {
+        return checkAll(jsons.spliterator(), options);
+    }
+
+    /**
+     * Checks all JSONs of the spliterator in parallel using the given options. <br>
+     * The JSONs are split among the threads of {@link CheckOptions#getForkJoinPool()}.
+     * Each thread reuses its own builder for the checks instead of creating one per JSON,
+     * unless a check runs while the thread's builder is still used by another one.
+     * @param jsons JSONs to check
+     * @param options Options of the checks
+     * @return the results in the encounter order of the spliterator
+     */
+    public List<CheckResult> checkAll(final @NotNull Spliterator<? extends JsonElement> jsons, final @NotNull CheckOptions options) {
+        final Stream<? extends JsonElement> stream = StreamSupport.stream(jsons, true);
+        return options.getForkJoinPool()
+                .submit(() -> stream.map((json) -> checkReusingBuilder(json, options)).collect(Collectors.toList()))
+                .join();
+    }
+
+    private CheckResult checkReusingBuilder(JsonElement json, CheckOptions options) {
+        // A thread waiting for a parallel check may run another check of the batch in the meantime, which gets a builder of its own
+        final CheckResult.Builder scratchBuilder = scratchBuilders.get();
+        if (!scratchBuilder.acquire()) return check(json, options);
+
+        try {
+            final CheckResult.Builder builder = scratchBuilder.reset(options);
+            if (options.getListener() == null) builder.setListener(listener);
+            predicate.check(json, builder);
+            return builder.build();
+        } finally {
+            scratchBuilder.release();
+        }
+    }
+
+    /**
+     * Checks every line of a JSON Lines (NDJSON) file. <br>
+     * Blank lines are skipped and lines which are no valid JSON or no valid UTF-8 are reported as a {@link com.conorsmine.net.json_schema.errors.ErrorCode#MALFORMED_JSON} error at the path {@code ""}.
+     * For very large files prefer {@link #checkLines(Path, CheckOptions, Consumer)}, which does not hold all results.
+     * @param file File to check
+     * @return the results of all lines in the order of the file
+     * @throws IOException if the file can't be read
+     */
+    public List<LineCheckResult> checkLines(final @NotNull Path file) throws IOException {
+        return checkLines(file, CheckOptions.deep());
+    }
+
+    /**
+     * Checks every line of a JSON Lines (NDJSON) file using the given options.
+     * @param file File to check
+     * @param options Options of the checks
+     * @return the results of all lines in the order of the file
+     * @throws IOException if the file can't be read
+     * @see #checkLines(Path)
+     */
+    public List<LineCheckResult> checkLines(final @NotNull Path file, final @NotNull CheckOptions options) throws IOException {
+        final List<LineCheckResult> results = new ArrayList<>();
+        checkLines(file, options, results::add);
+        return results;
+    }
+
+    /**
+     * Checks every line of a JSON Lines (NDJSON) file using the given options. <br>
+     * The file is memory mapped and checked in chunks on the threads of {@link CheckOptions#getForkJoinPool()}.
+     * The results are passed to the consumer on the calling thread, in the order of the file.
+     * @param file File to check
+     * @param options Options of the checks
+     * @param consumer Consumer of the results
+     * @throws IOException if the file can't be read
+     * @see #checkLines(Path)
+     */
+    public void checkLines(final @NotNull Path file, final @NotNull CheckOptions options, final @NotNull Consumer<? super LineCheckResult> consumer) throws IOException {
+        new JsonLinesChecker(this, options).check(file, consumer);
+    }
+
+    /**
+     * Checks the JSON read from the reader without building a tree of the whole document. <br>
+     * Only objects holding conditionals are read into memory, everything else is checked token by token.
+     * @param reader Reader providing the JSON
+     * @return the result of the check
+     * @throws IOException if the reader fails or the JSON is malformed
+     */
+    public CheckResult check(final @NotNull Reader reader) throws IOException {
+        return check(reader, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the JSON read from the reader using the given options.
+     * @param reader Reader providing the JSON
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws IOException if the reader fails or the JSON is malformed
+     * @see #check(Reader)
+     */
+    public CheckResult check(final @NotNull Reader reader, final @NotNull CheckOptions options) throws IOException {
+        final JsonReader jsonReader = new JsonReader(reader);
+        final CheckResult result = check(jsonReader, options);
+        if (jsonReader.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Did not consume the entire document.");
+        return result;
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON read from the stream without building a tree of the whole document.
+     * @param in Stream providing the JSON
+     * @return the result of the check
+     * @throws IOException if the stream fails or the JSON is malformed
+     * @see #check(Reader)
+     */
+    public CheckResult check(final @NotNull InputStream in) throws IOException {
+        return check(in, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON read from the stream using the given options.
+     * @param in Stream providing the JSON
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws IOException if the stream fails or the JSON is malformed
+     * @see #check(Reader)
+     */
+    public CheckResult check(final @NotNull InputStream in, final @NotNull CheckOptions options) throws IOException {
+        return check(new InputStreamReader(in, StandardCharsets.UTF_8), options);
+    }
+
+    /**
+     * Checks the next value of the reader, consuming it.
+     * @param reader Reader positioned in front of the value to check
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws IOException if the reader fails or the JSON is malformed
+     * @see #check(Reader)
+     */
+    public CheckResult check(final @NotNull JsonReader reader, final @NotNull CheckOptions options) throws IOException {
+        final CheckResult.Builder builder = createBuilder(options);
+        predicate.check(reader, builder);
+        return builder.build();
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON held by the array in place, without decoding it into {@link String}s
+     * or building a tree of the document. <br>
+     * The input is parsed strictly: it has to be valid UTF-8 and valid JSON (RFC 8259).
+     * @param json Array holding the JSON
+     * @param offset Index of the first byte of the JSON
+     * @param length Amount of bytes of the JSON
+     * @return the result of the check
+     * @throws com.google.gson.JsonSyntaxException if the JSON is malformed
+     */
+    public CheckResult check(final @NotNull byte[] json, int offset, int length) {
+        return check(json, offset, length, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON held by the array in place using the given options.
+     * @param json Array holding the JSON
+     * @param offset Index of the first byte of the JSON
+     * @param length Amount of bytes of the JSON
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws com.google.gson.JsonSyntaxException if the JSON is malformed
+     * @see #check(byte[], int, int)
+     */
+    public CheckResult check(final @NotNull byte[] json, int offset, int length, final @NotNull CheckOptions options) {
+        return check(new Utf8JsonReader(json, offset, length), options);
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON between the position and the limit of the buffer in place. <br>
+     * Heap and direct buffers are both read without copying them. The position of the buffer is not changed.
+     * @param json Buffer holding the JSON
+     * @return the result of the check
+     * @throws com.google.gson.JsonSyntaxException if the JSON is malformed
+     * @see #check(byte[], int, int)
+     */
+    public CheckResult check(final @NotNull ByteBuffer json) {
+        return check(json, CheckOptions.deep());
+    }
+
+    /**
+     * Checks the UTF-8 encoded JSON between the position and the limit of the buffer in place using the given options.
+     * @param json Buffer holding the JSON
+     * @param options Options of the check, e.g. {@link CheckOptions#failFast()}
+     * @return the result of the check
+     * @throws com.google.gson.JsonSyntaxException if the JSON is malformed
+     * @see #check(ByteBuffer)
+     */
+    public CheckResult check(final @NotNull ByteBuffer json, final @NotNull CheckOptions options) {
+        return check(new Utf8JsonReader(json), options);
+    }
+
+    private CheckResult check(Utf8JsonReader reader, CheckOptions options) {
+        final CheckResult.Builder builder = createBuilder(options);
+        predicate.check(reader, builder);
+        reader.endDocument();
+        return builder.build();
+    }
+
+    // The listener of the options replaces the one of the schema
+    private CheckResult.Builder createBuilder(CheckOptions options) {
+        final CheckResult.Builder builder = new CheckResult.Builder(options);
+        if (options.getListener() == null) builder.setListener(listener);
+        return builder;
+    }
+
+    /**
+     * Writes the tags and groups of the schema to the stream in a compact binary form. <br>
+     * The stream is not closed.
+     * @param out Stream to write the snapshot to
+     * @throws IOException if the stream fails
+     * @see JsonSchemaBuilder#createSchemaFromSnapshot(InputStream)
+     */
+    public void writeSnapshot(final @NotNull OutputStream out) throws IOException {
+        final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+        new SchemaSnapshot(sourceTag, sourceGroups).write(dataOut);
+        dataOut.flush();
     }
 }
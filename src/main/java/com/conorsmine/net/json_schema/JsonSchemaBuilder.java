@@ -3,12 +3,18 @@ package com.conorsmine.net.json_schema;
 import com.conorsmine.net.json_schema.parser.ParseResult;
 import com.conorsmine.net.json_schema.parser.SchemaJsonParser;
 import com.conorsmine.net.json_schema.tags.JsonTag;
+import com.conorsmine.net.json_schema.tags.SchemaCompiler;
+import com.conorsmine.net.json_schema.tags.SchemaSnapshot;
 import com.conorsmine.net.json_schema.tags.TagArr;
 import com.conorsmine.net.json_schema.tags.TagBuilder;
 import com.conorsmine.net.json_schema.tags.TagObj;
 import com.google.gson.JsonObject;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,6 +24,21 @@ public class JsonSchemaBuilder {
         return SchemaJsonParser.parse(json);
     }
 
+    /**
+     * Create a schema from a snapshot written by {@link JsonSchema#writeSnapshot(OutputStream)}. <br>
+     * The tags are rebuilt directly, without checking them against the parser schema again.
+     * The stream is read without buffering and is not closed, so only the snapshot is consumed.
+     * @param in Stream to read the snapshot from, preferably buffered
+     * @return the schema
+     * @throws IOException if the stream fails or holds no snapshot of a supported version
+     */
+    public static JsonSchema createSchemaFromSnapshot(final @NotNull InputStream in) throws IOException {
+        final SchemaSnapshot snapshot = SchemaSnapshot.read(new DataInputStream(in));
+        final JsonSchemaBuilder builder = builder(snapshot::getRoot);
+        snapshot.getGroups().forEach(builder::addGroup);
+        return builder.build();
+    }
+
     /**
      * Create a schema from a tag builder.
      * @param tagSchema the builder for the tag
@@ -26,7 +47,7 @@ public class JsonSchemaBuilder {
      * @see TagArr#builder()
      */
     public static JsonSchema createSchema(final @NotNull TagBuilder<?> tagSchema) {
-        return new JsonSchema(tagSchema.build());
+        return builder(tagSchema).build();
     }
 
     ///////////////////////////////////////////////////////////////////////////
@@ -46,6 +67,8 @@ public class JsonSchemaBuilder {
 
     private final Map<String, JsonTag> groupMap = new HashMap<>();
     private final TagBuilder<?> tagSchema;
+    private ValidationListener listener = null;
+    private int shapeCacheSize = 0;
 
     private JsonSchemaBuilder(final TagBuilder<?> tagSchema) {
         this.tagSchema = tagSchema;
@@ -62,7 +85,41 @@ public class JsonSchemaBuilder {
         return this;
     }
 
-    public JsonSchema build() {
-        return new JsonSchema(tagSchema.build(), groupMap);
+    /**
+     * Set the listener notified about every check of the schema.
+     * @param listener the listener
+     * @return this builder
+     * @see CheckOptions.Builder#setListener(ValidationListener)
+     */
+    public JsonSchemaBuilder setListener(final @NotNull ValidationListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Cache whether subtrees which are only checked by their shape are valid, like objects only holding plain strings. <br>
+     * Pays off for many JSONs of the same shape, which only differ in their values.
+     * @param maxEntries Amount of shapes to cache at most
+     * @return this builder
+     * @see ShapeCache
+     */
+    public JsonSchemaBuilder setShapeCache(int maxEntries) {
+        if (maxEntries < 1) throw new UnsupportedOperationException("The maxEntries value must be >= 1!");
+        this.shapeCacheSize = maxEntries;
+        return this;
+    }
+
+    /**
+     * Builds the schema, compiling the tags into the form they are checked in.
+     * @return the schema
+     * @throws IllegalStateException if a group tag uses a group which was not added
+     */
+    public JsonSchema build() throws IllegalStateException {
+        final JsonTag sourceTag = tagSchema.build();
+        final ShapeCache shapeCache = (shapeCacheSize > 0) ? new ShapeCache(shapeCacheSize) : null;
+        final SchemaCompiler compiler = new SchemaCompiler(groupMap, shapeCache);
+        final JsonTag predicate = compiler.compile(sourceTag);
+        compiler.compileGroups();
+        return new JsonSchema(predicate, sourceTag, new HashMap<>(groupMap), listener, shapeCache);
     }
 }
@@ -0,0 +1,31 @@
+package com.conorsmine.net.json_schema;
+
+/**
+ * The result of checking a single line of a JSON Lines file.
+ * @see JsonSchema#checkLines(java.nio.file.Path)
+ */
+public class LineCheckResult {
+
+    private final long lineNumber;
+    private final CheckResult result;
+
+    LineCheckResult(long lineNumber, CheckResult result) {
+        this.lineNumber = lineNumber;
+        this.result = result;
+    }
+
+    /**
+     * The number of the line in the file, starting at 1.
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public CheckResult getResult() {
+        return result;
+    }
+
+    public boolean isValid() {
+        return result.isValid();
+    }
+}
@@ -0,0 +1,284 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
+import com.conorsmine.net.json_schema.parser.ParseResult;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Holds named schemas created from JSON. <br>
+ * Parsed schemas are cached by their name and the hash of their content, so registering
+ * the same content again doesn't parse it again. The registry may watch a directory and
+ * reload the schemas of all {@code .json} files in it when they change. <br>
+ * A new version of a schema is only swapped in once it is completely built, so checks
+ * running at the same time keep using the old version without ever being blocked.
+ * If the same name is registered by multiple threads at the same time, the version registered last is kept.
+ */
+public class SchemaRegistry implements Closeable {
+
+    private static final String SCHEMA_FILE_SUFFIX = ".json";
+
+    private final ConcurrentHashMap<String, Version> schemas = new ConcurrentHashMap<>();
+    private final AtomicLong registrations = new AtomicLong();
+    // Successfully parsed schemas by name and content hash, least recently used first
+    private final Map<String, ParseResult> parseCache;
+    private final BiConsumer<String, Map<String, JsonFormatCheckError>> errorHandler;
+    private final Path directory;
+    private final WatchService watchService;
+
+    private SchemaRegistry(int maxCacheSize, @Nullable Path directory, BiConsumer<String, Map<String, JsonFormatCheckError>> errorHandler) throws IOException {
+        this.parseCache = new LinkedHashMap<String, ParseResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ParseResult> eldest) {
+                return size() > maxCacheSize;
+            }
+        };
+        this.errorHandler = errorHandler;
+        this.directory = directory;
+        if (directory == null) {
+            this.watchService = null;
+            return;
+        }
+
+        // Register the watcher first, so changes made while loading aren't missed
+        this.watchService = directory.getFileSystem().newWatchService();
+        try {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            loadDirectory();
+        } catch (IOException | RuntimeException e) {
+            watchService.close();
+            throw e;
+        }
+
+        final Thread watcher = new Thread(this::watchDirectory, "SchemaRegistry-" + directory.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Parses the JSON into a schema and makes it the current version of the name. <br>
+     * If the JSON is no valid schema, the current version is kept.
+     * @param name Name of the schema
+     * @param json JSON describing the schema
+     * @return the result of parsing the JSON
+     * @see JsonSchemaBuilder#createSchemaFromJson(JsonObject)
+     */
+    public ParseResult register(final @NotNull String name, final @NotNull JsonObject json) {
+        return register(name, hash(json.toString().getBytes(StandardCharsets.UTF_8)), json);
+    }
+
+    /**
+     * @param name Name of the schema
+     * @return the current version of the schema
+     */
+    public Optional<JsonSchema> getSchema(final @NotNull String name) {
+        final Version version = schemas.get(name);
+        return Optional.ofNullable(version != null ? version.schema : null);
+    }
+
+    /**
+     * Removes the schema of the name.
+     * @param name Name of the schema
+     * @return whether there was a schema of the name
+     */
+    public boolean unregister(final @NotNull String name) {
+        return schemas.remove(name) != null;
+    }
+
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(schemas.keySet());
+    }
+
+    /**
+     * Stops watching the directory. The schemas loaded so far stay available.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) watchService.close();
+    }
+
+    private ParseResult register(String name, String contentHash, JsonObject json) {
+        // Registrations are ordered by their start, as parsing them may finish in any order
+        final long registration = registrations.incrementAndGet();
+        final String cacheKey = name + '@' + contentHash;
+        ParseResult result;
+        synchronized (parseCache) {
+            result = parseCache.get(cacheKey);
+        }
+
+        if (result == null) {
+            result = JsonSchemaBuilder.createSchemaFromJson(json);
+            if (result.hasSchema()) synchronized (parseCache) {
+                parseCache.put(cacheKey, result);
+            }
+        }
+
+        result.getSchema().ifPresent((schema) -> schemas.compute(name, (key, current) ->
+                (current == null || current.registration < registration) ? new Version(registration, schema) : current));
+        return result;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Directory
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void loadDirectory() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SCHEMA_FILE_SUFFIX)) {
+            for (Path file : files) loadFile(file);
+        }
+    }
+
+    private void loadFile(Path file) {
+        final String name = getSchemaName(file);
+        try {
+            final byte[] content = Files.readAllBytes(file);
+            final ParseResult result = register(name, hash(content), JsonParser.parseString(new String(content, StandardCharsets.UTF_8)).getAsJsonObject());
+            if (!result.hasSchema()) errorHandler.accept(name, result.getErrors());
+        } catch (IOException | RuntimeException e) {
+            errorHandler.accept(name, Collections.singletonMap("", new JsonFormatCheckError(() -> "Could not load the schema file \"" + file + "\"! " + e.getMessage())));
+        }
+    }
+
+    private void watchDirectory() {
+        try {
+            while (true) {
+                final WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        reloadDirectory();
+                        continue;
+                    }
+
+                    final Path file = directory.resolve((Path) event.context());
+                    if (!file.getFileName().toString().endsWith(SCHEMA_FILE_SUFFIX)) continue;
+
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) unregister(getSchemaName(file));
+                    else loadFile(file);
+                }
+
+                if (!key.reset()) return;
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // The registry was closed
+        }
+    }
+
+    // Events were lost, so every file is loaded again. The directory keeps being watched if this fails
+    private void reloadDirectory() {
+        try {
+            loadDirectory();
+        } catch (IOException | RuntimeException e) {
+            errorHandler.accept("", Collections.singletonMap("", new JsonFormatCheckError(() -> "Could not reload the schema directory \"" + directory + "\"! " + e.getMessage())));
+        }
+    }
+
+    private static String getSchemaName(Path file) {
+        final String fileName = file.getFileName().toString();
+        return fileName.substring(0, fileName.length() - SCHEMA_FILE_SUFFIX.length());
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            final StringBuilder hash = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content))
+                hash.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return hash.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported! This should not happen!", e);
+        }
+    }
+
+    // A registered schema together with the order it was registered in
+    private static final class Version {
+
+        private final long registration;
+        private final JsonSchema schema;
+
+        private Version(long registration, JsonSchema schema) {
+            this.registration = registration;
+            this.schema = schema;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Builder
+    ///////////////////////////////////////////////////////////////////////////
+
+    public static class Builder {
+
+        private int maxCacheSize = 64;
+        private Path directory = null;
+        private BiConsumer<String, Map<String, JsonFormatCheckError>> errorHandler = (name, errors) -> { };
+
+        private Builder() { }
+
+        /**
+         * Sets the amount of parsed schemas kept in the cache. <br>
+         * Once exceeded, the least recently used schema is removed from the cache.
+         * @param maxCacheSize Amount of parsed schemas to cache at most
+         */
+        public Builder setMaxCacheSize(int maxCacheSize) {
+            if (maxCacheSize < 1) throw new UnsupportedOperationException("The maxCacheSize value must be >= 1!");
+            this.maxCacheSize = maxCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the directory to load the schemas from. <br>
+         * Each {@code .json} file is registered under its name without the extension.
+         * The directory is watched and changed files are reloaded until the registry is closed.
+         * @param directory Directory holding the schema files
+         */
+        public Builder setDirectory(final @NotNull Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the handler of schema files which could not be loaded. <br>
+         * It receives the name of the schema and the errors. The previous version of the schema is kept.
+         * @param errorHandler Handler of the errors
+         */
+        public Builder setErrorHandler(final @NotNull BiConsumer<String, Map<String, JsonFormatCheckError>> errorHandler) {
+            this.errorHandler = errorHandler;
+            return this;
+        }
+
+        /**
+         * Builds the registry, loading the schemas of the directory if one was set.
+         * @return the registry
+         * @throws IOException if the directory can't be read or watched
+         */
+        public SchemaRegistry build() throws IOException {
+            return new SchemaRegistry(maxCacheSize, directory, errorHandler);
+        }
+    }
+}
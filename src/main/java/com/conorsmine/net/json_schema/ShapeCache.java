@@ -0,0 +1,168 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.tags.JsonTag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches whether subtrees of a certain shape are valid, for the parts of a schema which don't check any values. <br>
+ * Objects without conditionals and arrays only holding such tags, plain strings, unbounded {@link TagType#FLT}s and
+ * {@link TagType#ANY}s are valid or invalid no matter the values of the checked JSON.
+ * Their verdict only depends on which keys are present, the types of the elements and the sizes of the arrays.
+ * This shape is hashed into a 128 bit fingerprint, which is looked up instead of checking the subtree. <br>
+ * Only a valid verdict skips the check of a subtree, as the errors of an invalid subtree hold its path.
+ * An invalid verdict only skips checks which don't collect errors, like {@link JsonSchema#isValid(com.google.gson.JsonElement)},
+ * so only these checks cache it. Listeners are not notified about the tags of skipped subtrees. <br>
+ * Objects are hashed by iterating their entries where the {@link JsonAccess} supports it, which is a lot cheaper than looking up every key.
+ * Objects holding the same keys in a different order have different fingerprints. <br>
+ * Once the cache is full, verdicts which were not used for a while are evicted, approximating a least recently used order.
+ * The cache doesn't lock, so it may be used by any amount of threads at the same time.
+ * @see JsonSchemaBuilder#setShapeCache(int)
+ */
+public class ShapeCache {
+
+    private final int maxEntries;
+    // Eviction removes a few more verdicts than needed, so not every new verdict sweeps the cache
+    private final int evictedSize;
+    private final ConcurrentHashMap<Shape, Verdict> verdicts = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    ShapeCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.evictedSize = maxEntries - maxEntries / 8;
+    }
+
+    /**
+     * Looks up the verdict of a subtree. Used by the tags of the schema.
+     * @param tag Tag checking the subtree
+     * @param high Upper half of the fingerprint of the subtree
+     * @param low Lower half of the fingerprint of the subtree
+     * @return whether subtrees of this shape are valid, or {@code null} if the shape is not cached
+     */
+    public @Nullable Boolean getVerdict(final @NotNull JsonTag tag, long high, long low) {
+        final Verdict verdict = verdicts.get(new Shape(tag, high, low));
+        if (verdict == null) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        // Only written if it changes, so threads using the same verdict don't keep writing to it
+        if (!verdict.used) verdict.used = true;
+        return verdict.valid;
+    }
+
+    /**
+     * Caches the verdict of a subtree. Used by the tags of the schema.
+     * @param tag Tag which checked the subtree
+     * @param high Upper half of the fingerprint of the subtree
+     * @param low Lower half of the fingerprint of the subtree
+     * @param valid Whether the subtree is valid
+     */
+    public void putVerdict(final @NotNull JsonTag tag, long high, long low, boolean valid) {
+        verdicts.putIfAbsent(new Shape(tag, high, low), new Verdict(valid));
+        if (verdicts.size() > maxEntries) evict();
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * The amount of shapes currently cached.
+     */
+    public int size() {
+        return verdicts.size();
+    }
+
+    /**
+     * The amount of lookups which found the shape.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * The amount of lookups which did not find the shape, after which the subtree was checked.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Removes all cached shapes and resets the counters.
+     */
+    public void clear() {
+        verdicts.clear();
+        hits.reset();
+        misses.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d shapes, %d hits, %d misses", size(), maxEntries, getHits(), getMisses());
+    }
+
+    // Sweeps the verdicts like a clock: Verdicts used since the last sweep are kept once more, the others are removed.
+    // Only one thread sweeps at a time and the others don't wait for it, so the cache may briefly hold a few more verdicts
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            for (int sweep = 0; verdicts.size() > evictedSize; sweep++) {
+                final Iterator<Verdict> iterator = verdicts.values().iterator();
+                while (iterator.hasNext() && verdicts.size() > evictedSize) {
+                    final Verdict verdict = iterator.next();
+                    // Verdicts which keep being used are removed as well after a few sweeps
+                    if (verdict.used && sweep < 2) verdict.used = false;
+                    else iterator.remove();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Verdict {
+
+        private final boolean valid;
+        private volatile boolean used = false;
+
+        private Verdict(boolean valid) {
+            this.valid = valid;
+        }
+    }
+
+    // The fingerprint of a subtree together with the tag checking it, as different tags may see the same shape
+    private static final class Shape {
+
+        private final JsonTag tag;
+        private final long high, low;
+
+        private Shape(JsonTag tag, long high, long low) {
+            this.tag = tag;
+            this.high = high;
+            this.low = low;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Shape)) return false;
+
+            final Shape shape = (Shape) o;
+            return tag == shape.tag && high == shape.high && low == shape.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(low) * 31 + System.identityHashCode(tag);
+        }
+    }
+}
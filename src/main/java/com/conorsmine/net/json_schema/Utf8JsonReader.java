@@ -0,0 +1,692 @@
+package com.conorsmine.net.json_schema;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.internal.LazilyParsedNumber;
+import com.google.gson.stream.JsonToken;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads UTF-8 encoded JSON token by token directly from its bytes. <br>
+ * Strings and keys are validated and measured in place, so checking them does not create a {@link String}.
+ * Unlike Gson's parser this reader is strict: the bytes have to be valid UTF-8 and valid JSON (RFC 8259).
+ * Malformed input is reported by throwing a {@link JsonSyntaxException}. <br>
+ * A reader belongs to a single check and is used by a single thread.
+ * @see JsonSchema#check(byte[], int, int)
+ */
+public final class Utf8JsonReader {
+
+    private static final int PEEKED_NONE = 0, PEEKED_BEGIN_OBJECT = 1, PEEKED_END_OBJECT = 2, PEEKED_BEGIN_ARRAY = 3, PEEKED_END_ARRAY = 4,
+            PEEKED_NAME = 5, PEEKED_STRING = 6, PEEKED_NUMBER = 7, PEEKED_TRUE = 8, PEEKED_FALSE = 9, PEEKED_NULL = 10, PEEKED_END_DOCUMENT = 11;
+
+    private static final byte EMPTY_DOCUMENT = 0, NONEMPTY_DOCUMENT = 1, EMPTY_ARRAY = 2, NONEMPTY_ARRAY = 3,
+            EMPTY_OBJECT = 4, NONEMPTY_OBJECT = 5, DANGLING_NAME = 6;
+
+    // Exactly one of them is set, reading from the array directly is faster for heap buffers
+    private final byte[] array;
+    private final ByteBuffer buffer;
+    private final int start, limit;
+    private int pos;
+
+    private byte[] scopes = new byte[32];
+    private int depth = 1;
+    private int peeked = PEEKED_NONE;
+
+    // The last string or number read, relative to the input
+    private int tokenStart, tokenEnd;
+    private boolean tokenAscii, tokenEscaped;
+    private int tokenLength;
+    private final AsciiView view = new AsciiView();
+
+    Utf8JsonReader(byte[] array, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > array.length) throw new IndexOutOfBoundsException("The range " + offset + " + " + length + " is outside of the array!");
+        this.array = array;
+        this.buffer = null;
+        this.start = offset;
+        this.pos = offset;
+        this.limit = offset + length;
+        scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    Utf8JsonReader(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            this.array = buffer.array();
+            this.buffer = null;
+            this.start = buffer.arrayOffset() + buffer.position();
+            this.limit = buffer.arrayOffset() + buffer.limit();
+        } else {
+            this.array = null;
+            this.buffer = buffer;
+            this.start = buffer.position();
+            this.limit = buffer.limit();
+        }
+        this.pos = start;
+        scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    private byte at(int index) {
+        return (array != null) ? array[index] : buffer.get(index);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Structure
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The kind of the next token, without consuming it.
+     */
+    public JsonToken peek() {
+        switch (peeked()) {
+            case PEEKED_BEGIN_OBJECT: return JsonToken.BEGIN_OBJECT;
+            case PEEKED_END_OBJECT: return JsonToken.END_OBJECT;
+            case PEEKED_BEGIN_ARRAY: return JsonToken.BEGIN_ARRAY;
+            case PEEKED_END_ARRAY: return JsonToken.END_ARRAY;
+            case PEEKED_NAME: return JsonToken.NAME;
+            case PEEKED_STRING: return JsonToken.STRING;
+            case PEEKED_NUMBER: return JsonToken.NUMBER;
+            case PEEKED_TRUE:
+            case PEEKED_FALSE: return JsonToken.BOOLEAN;
+            case PEEKED_NULL: return JsonToken.NULL;
+            default: return JsonToken.END_DOCUMENT;
+        }
+    }
+
+    public void beginObject() {
+        expect(PEEKED_BEGIN_OBJECT, "an object");
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() {
+        expect(PEEKED_END_OBJECT, "the end of an object");
+        depth--;
+    }
+
+    public void beginArray() {
+        expect(PEEKED_BEGIN_ARRAY, "an array");
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() {
+        expect(PEEKED_END_ARRAY, "the end of an array");
+        depth--;
+    }
+
+    /**
+     * Whether the current object or array has another element.
+     */
+    public boolean hasNext() {
+        final int peeked = peeked();
+        return peeked != PEEKED_END_OBJECT && peeked != PEEKED_END_ARRAY && peeked != PEEKED_END_DOCUMENT;
+    }
+
+    /**
+     * Skips the next value, including all of its children. The skipped bytes are still validated.
+     */
+    public void skipValue() {
+        int count = 0;
+        do {
+            switch (peeked()) {
+                case PEEKED_BEGIN_OBJECT:
+                    push(EMPTY_OBJECT);
+                    count++;
+                    break;
+                case PEEKED_BEGIN_ARRAY:
+                    push(EMPTY_ARRAY);
+                    count++;
+                    break;
+                case PEEKED_END_OBJECT:
+                case PEEKED_END_ARRAY:
+                    depth--;
+                    count--;
+                    break;
+                case PEEKED_NAME:
+                case PEEKED_STRING:
+                    scanString();
+                    break;
+                case PEEKED_NUMBER:
+                    scanNumber();
+                    break;
+                case PEEKED_END_DOCUMENT:
+                    throw syntaxError("Expected a value but the input ended");
+                default:
+                    break;
+            }
+            peeked = PEEKED_NONE;
+        } while (count > 0);
+    }
+
+    /**
+     * Consumes the rest of the input, which may only be whitespace.
+     */
+    void endDocument() {
+        if (peeked() != PEEKED_END_DOCUMENT) throw syntaxError("Expected the end of the input");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Values
+    ///////////////////////////////////////////////////////////////////////////
+
+    public String nextName() {
+        expect(PEEKED_NAME, "a name");
+        scanString();
+        return decodeToken();
+    }
+
+    /**
+     * Reads the next name and looks it up without creating a {@link String}.
+     * @param keys Keys to look the name up in
+     * @return the index of the name in the keys, or {@code -1} if it isn't one of them
+     */
+    public int nextNameIndex(final @NotNull KeyIndex keys) {
+        expect(PEEKED_NAME, "a name");
+        scanString();
+        return (tokenEscaped) ? keys.indexOf(decodeToken()) : keys.indexOf(this, tokenStart, tokenEnd);
+    }
+
+    /**
+     * Reads the next string, number or boolean as its text, the way {@link JsonElement#getAsString()} would. <br>
+     * Text consisting only of ASCII chars is returned as a view of the input, which is only valid until the next call to this reader.
+     */
+    public CharSequence nextPrimitive() {
+        switch (peeked()) {
+            case PEEKED_STRING:
+                peeked = PEEKED_NONE;
+                scanString();
+                return (tokenAscii) ? view : decodeToken();
+            case PEEKED_NUMBER:
+                peeked = PEEKED_NONE;
+                scanNumber();
+                return view;
+            case PEEKED_TRUE:
+                peeked = PEEKED_NONE;
+                return "true";
+            case PEEKED_FALSE:
+                peeked = PEEKED_NONE;
+                return "false";
+            default:
+                throw syntaxError("Expected a string, number or boolean");
+        }
+    }
+
+    /**
+     * Reads the next string, number or boolean, only measuring the length of its text.
+     * @return the amount of UTF-16 chars of the text, like {@code getAsString().length()}
+     */
+    public int nextPrimitiveLength() {
+        switch (peeked()) {
+            case PEEKED_STRING:
+                peeked = PEEKED_NONE;
+                scanString();
+                return tokenLength;
+            case PEEKED_NUMBER:
+                peeked = PEEKED_NONE;
+                scanNumber();
+                return tokenLength;
+            case PEEKED_TRUE:
+                peeked = PEEKED_NONE;
+                return 4;
+            case PEEKED_FALSE:
+                peeked = PEEKED_NONE;
+                return 5;
+            default:
+                throw syntaxError("Expected a string, number or boolean");
+        }
+    }
+
+    public boolean nextBoolean() {
+        final int peeked = peeked();
+        if (peeked != PEEKED_TRUE && peeked != PEEKED_FALSE) throw syntaxError("Expected a boolean");
+        this.peeked = PEEKED_NONE;
+        return peeked == PEEKED_TRUE;
+    }
+
+    /**
+     * Reads the next value into a Gson tree.
+     */
+    public JsonElement readTree() {
+        switch (peeked()) {
+            case PEEKED_BEGIN_OBJECT:
+                final JsonObject object = new JsonObject();
+                beginObject();
+                while (hasNext()) object.add(nextName(), readTree());
+                endObject();
+                return object;
+            case PEEKED_BEGIN_ARRAY:
+                final JsonArray jsonArray = new JsonArray();
+                beginArray();
+                while (hasNext()) jsonArray.add(readTree());
+                endArray();
+                return jsonArray;
+            case PEEKED_STRING:
+                peeked = PEEKED_NONE;
+                scanString();
+                return new JsonPrimitive(decodeToken());
+            case PEEKED_NUMBER:
+                peeked = PEEKED_NONE;
+                scanNumber();
+                return new JsonPrimitive(new LazilyParsedNumber(decodeToken()));
+            case PEEKED_TRUE:
+            case PEEKED_FALSE:
+                return new JsonPrimitive(nextBoolean());
+            case PEEKED_NULL:
+                peeked = PEEKED_NONE;
+                return JsonNull.INSTANCE;
+            default:
+                throw syntaxError("Expected a value");
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Tokenizer
+    ///////////////////////////////////////////////////////////////////////////
+
+    private void expect(int token, String expected) {
+        if (peeked() != token) throw syntaxError("Expected " + expected);
+        peeked = PEEKED_NONE;
+    }
+
+    private void push(byte scope) {
+        if (depth == scopes.length) scopes = Arrays.copyOf(scopes, depth * 2);
+        scopes[depth++] = scope;
+    }
+
+    private int peeked() {
+        return (peeked != PEEKED_NONE) ? peeked : (peeked = doPeek());
+    }
+
+    // Consumes the separators in front of the next token and the token itself, unless it is a string, name or number
+    private int doPeek() {
+        final byte scope = scopes[depth - 1];
+        switch (scope) {
+            case EMPTY_ARRAY:
+                scopes[depth - 1] = NONEMPTY_ARRAY;
+                break;
+            case NONEMPTY_ARRAY:
+                switch (nextNonWhitespace()) {
+                    case ']':
+                        pos++;
+                        return PEEKED_END_ARRAY;
+                    case ',':
+                        pos++;
+                        break;
+                    default:
+                        throw syntaxError("Unterminated array");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                scopes[depth - 1] = DANGLING_NAME;
+                if (scope == NONEMPTY_OBJECT) {
+                    final int c = nextNonWhitespace();
+                    if (c == '}') {
+                        pos++;
+                        return PEEKED_END_OBJECT;
+                    }
+                    if (c != ',') throw syntaxError("Unterminated object");
+                    pos++;
+                }
+
+                final int c = nextNonWhitespace();
+                if (c == '"') {
+                    pos++;
+                    return PEEKED_NAME;
+                }
+                if (c == '}' && scope == EMPTY_OBJECT) {
+                    pos++;
+                    return PEEKED_END_OBJECT;
+                }
+                throw syntaxError("Expected a name");
+            case DANGLING_NAME:
+                scopes[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') throw syntaxError("Expected ':'");
+                pos++;
+                break;
+            case EMPTY_DOCUMENT:
+                scopes[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespace() == -1) return PEEKED_END_DOCUMENT;
+                throw syntaxError("Expected the end of the input");
+        }
+
+        final int c = nextNonWhitespace();
+        switch (c) {
+            case ']':
+                if (scope != EMPTY_ARRAY) throw syntaxError("Expected a value");
+                pos++;
+                return PEEKED_END_ARRAY;
+            case '"':
+                pos++;
+                return PEEKED_STRING;
+            case '{':
+                pos++;
+                return PEEKED_BEGIN_OBJECT;
+            case '[':
+                pos++;
+                return PEEKED_BEGIN_ARRAY;
+            case 't':
+                return readLiteral("true", PEEKED_TRUE);
+            case 'f':
+                return readLiteral("false", PEEKED_FALSE);
+            case 'n':
+                return readLiteral("null", PEEKED_NULL);
+            case -1:
+                throw syntaxError("Expected a value but the input ended");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) return PEEKED_NUMBER;
+                throw syntaxError("Expected a value");
+        }
+    }
+
+    private int nextNonWhitespace() {
+        while (pos < limit) {
+            final int c = at(pos) & 0xFF;
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return c;
+            pos++;
+        }
+        return -1;
+    }
+
+    private int readLiteral(String literal, int token) {
+        if (limit - pos < literal.length()) throw syntaxError("Expected a value");
+        for (int i = 0; i < literal.length(); i++)
+            if (at(pos + i) != literal.charAt(i)) throw syntaxError("Expected a value");
+
+        pos += literal.length();
+        if (pos < limit && !isDelimiter(at(pos))) throw syntaxError("Expected a value");
+        return token;
+    }
+
+    private static boolean isDelimiter(byte c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    /**
+     * Scans the string after its opening quote up to and including its closing quote,
+     * validating escapes and UTF-8 and counting its UTF-16 chars.
+     */
+    private void scanString() {
+        tokenStart = pos;
+        boolean ascii = true, escaped = false;
+        int length = 0;
+
+        while (true) {
+            // Runs of plain ASCII chars are the common case and skipped without any further checks
+            final int runStart = pos;
+            if (array != null) {
+                while (pos < limit && isPlainAscii(array[pos])) pos++;
+            } else {
+                while (pos < limit && isPlainAscii(buffer.get(pos))) pos++;
+            }
+            length += pos - runStart;
+
+            if (pos >= limit) throw syntaxError("Unterminated string");
+            final int c = at(pos) & 0xFF;
+
+            if (c == '"') break;
+            if (c < 0x20) throw syntaxError("Unescaped control character in string");
+            if (c == '\\') {
+                ascii = false;
+                escaped = true;
+                pos = scanEscape(pos + 1);
+                length++;
+                continue;
+            }
+            if (c < 0x80) {
+                pos++;
+                length++;
+                continue;
+            }
+
+            ascii = false;
+            final int size = scanCodePoint(c);
+            pos += size;
+            length += (size == 4) ? 2 : 1;
+        }
+
+        tokenEnd = pos++;
+        tokenAscii = ascii;
+        tokenEscaped = escaped;
+        tokenLength = length;
+        view.start = tokenStart;
+        view.length = length;
+    }
+
+    // Negative bytes are part of multi byte sequences
+    private static boolean isPlainAscii(byte c) {
+        return c >= 0x20 && c != '"' && c != '\\';
+    }
+
+    // Returns the position after the escape sequence
+    private int scanEscape(int index) {
+        if (index >= limit) throw syntaxError("Unterminated escape sequence");
+        switch (at(index)) {
+            case '"': case '\\': case '/': case 'b': case 'f': case 'n': case 'r': case 't':
+                return index + 1;
+            case 'u':
+                if (limit - index < 5) throw syntaxError("Unterminated escape sequence");
+                for (int i = 1; i <= 4; i++)
+                    if (Character.digit(at(index + i), 16) < 0) throw syntaxError("Malformed unicode escape");
+                return index + 5;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    // Validates the multi byte sequence starting with the lead byte at pos and returns its size
+    private int scanCodePoint(int lead) {
+        final int size;
+        int min = 0x80, max = 0xBF;
+        if (lead >= 0xC2 && lead <= 0xDF) size = 2;
+        else if (lead >= 0xE0 && lead <= 0xEF) {
+            size = 3;
+            if (lead == 0xE0) min = 0xA0;
+            if (lead == 0xED) max = 0x9F;
+        }
+        else if (lead >= 0xF0 && lead <= 0xF4) {
+            size = 4;
+            if (lead == 0xF0) min = 0x90;
+            if (lead == 0xF4) max = 0x8F;
+        }
+        else throw syntaxError("Malformed UTF-8");
+
+        if (limit - pos < size) throw syntaxError("Malformed UTF-8");
+        for (int i = 1; i < size; i++) {
+            final int c = at(pos + i) & 0xFF;
+            if (c < ((i == 1) ? min : 0x80) || c > ((i == 1) ? max : 0xBF)) throw syntaxError("Malformed UTF-8");
+        }
+        return size;
+    }
+
+    private void scanNumber() {
+        tokenStart = pos;
+        if (pos < limit && at(pos) == '-') pos++;
+
+        if (pos < limit && at(pos) == '0') pos++;
+        else if (scanDigits() == 0) throw syntaxError("Malformed number");
+
+        if (pos < limit && at(pos) == '.') {
+            pos++;
+            if (scanDigits() == 0) throw syntaxError("Malformed number");
+        }
+        if (pos < limit && (at(pos) == 'e' || at(pos) == 'E')) {
+            pos++;
+            if (pos < limit && (at(pos) == '+' || at(pos) == '-')) pos++;
+            if (scanDigits() == 0) throw syntaxError("Malformed number");
+        }
+        if (pos < limit && !isDelimiter(at(pos))) throw syntaxError("Malformed number");
+
+        tokenEnd = pos;
+        tokenAscii = true;
+        tokenEscaped = false;
+        tokenLength = tokenEnd - tokenStart;
+        view.start = tokenStart;
+        view.length = tokenLength;
+    }
+
+    private int scanDigits() {
+        final int from = pos;
+        while (pos < limit && at(pos) >= '0' && at(pos) <= '9') pos++;
+        return pos - from;
+    }
+
+    // Decodes the last string or number, which is already known to be valid
+    private String decodeToken() {
+        if (tokenAscii) {
+            if (array != null) return new String(array, tokenStart, tokenEnd - tokenStart, StandardCharsets.ISO_8859_1);
+            final char[] chars = new char[tokenLength];
+            for (int i = 0; i < chars.length; i++) chars[i] = (char) at(tokenStart + i);
+            return new String(chars);
+        }
+
+        final char[] chars = new char[tokenLength];
+        int index = tokenStart, length = 0;
+        while (index < tokenEnd) {
+            final int c = at(index) & 0xFF;
+            if (c == '\\') {
+                chars[length++] = decodeEscape(index + 1);
+                index += (at(index + 1) == 'u') ? 6 : 2;
+            } else if (c < 0x80) {
+                chars[length++] = (char) c;
+                index++;
+            } else if (c < 0xE0) {
+                chars[length++] = (char) (((c & 0x1F) << 6) | (at(index + 1) & 0x3F));
+                index += 2;
+            } else if (c < 0xF0) {
+                chars[length++] = (char) (((c & 0x0F) << 12) | ((at(index + 1) & 0x3F) << 6) | (at(index + 2) & 0x3F));
+                index += 3;
+            } else {
+                final int codePoint = ((c & 0x07) << 18) | ((at(index + 1) & 0x3F) << 12) | ((at(index + 2) & 0x3F) << 6) | (at(index + 3) & 0x3F);
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+                index += 4;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    private char decodeEscape(int index) {
+        switch (at(index)) {
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int c = 0;
+                for (int i = 1; i <= 4; i++) c = (c << 4) | Character.digit(at(index + i), 16);
+                return (char) c;
+            default: return (char) at(index);
+        }
+    }
+
+    private JsonSyntaxException syntaxError(String message) {
+        return new JsonSyntaxException(message + " at byte " + (pos - start) + "!");
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Views
+    ///////////////////////////////////////////////////////////////////////////
+
+    // The last ASCII token, read straight from the input
+    private final class AsciiView implements CharSequence {
+
+        private int start, length;
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length) throw new IndexOutOfBoundsException("The index " + index + " is outside of the text!");
+            return (char) at(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) chars[i] = (char) at(start + i);
+            return new String(chars);
+        }
+    }
+
+    /**
+     * Keys encoded as UTF-8 once, so names can be looked up by their bytes.
+     * @see #nextNameIndex(KeyIndex)
+     */
+    public static final class KeyIndex {
+
+        private final String[] keys;
+        private final byte[][] encodedKeys;
+        private final int[] slots;
+        private final int mask;
+
+        /**
+         * @param keys Keys of the index, a key's index is its position in the array
+         */
+        public KeyIndex(final @NotNull String... keys) {
+            int capacity = 4;
+            while (capacity < keys.length * 2) capacity <<= 1;
+
+            this.keys = keys.clone();
+            this.encodedKeys = new byte[keys.length][];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+
+            for (int i = 0; i < keys.length; i++) {
+                encodedKeys[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+                int slot = hash(encodedKeys[i]) & mask;
+                while (slots[slot] != 0) slot = (slot + 1) & mask;
+                // Slots hold the index + 1, so 0 marks an empty slot
+                slots[slot] = i + 1;
+            }
+        }
+
+        private int indexOf(Utf8JsonReader reader, int from, int to) {
+            int hash = 0;
+            for (int i = from; i < to; i++) hash = 31 * hash + reader.at(i);
+
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (slots[slot] != 0) {
+                final int index = slots[slot] - 1;
+                if (matches(encodedKeys[index], reader, from, to)) return index;
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < keys.length; i++)
+                if (keys[i].equals(key)) return i;
+            return -1;
+        }
+
+        private static boolean matches(byte[] key, Utf8JsonReader reader, int from, int to) {
+            if (key.length != to - from) return false;
+            for (int i = 0; i < key.length; i++)
+                if (key[i] != reader.at(from + i)) return false;
+            return true;
+        }
+
+        private static int hash(byte[] key) {
+            int hash = 0;
+            for (byte b : key) hash = 31 * hash + b;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
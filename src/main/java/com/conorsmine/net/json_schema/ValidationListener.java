@@ -0,0 +1,56 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
+import com.conorsmine.net.json_schema.tags.JsonTag;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets notified about the steps of a check, e.g. to collect metrics. <br>
+ * A listener is either attached to a schema using {@link JsonSchemaBuilder#setListener(ValidationListener)}
+ * or to single checks using {@link CheckOptions.Builder#setListener(ValidationListener)}.
+ * Without a listener checks don't do any extra work. <br>
+ * The builder passed to each method is positioned at the element being checked, see {@link CheckResult.Builder#getPath()}.
+ * Parallel checks notify the listener from multiple threads at the same time.
+ * @see ValidationMetrics
+ */
+public interface ValidationListener {
+
+    /**
+     * Called before a tag checks an element.
+     * @param tag Tag checking the element
+     * @param check Builder of the check
+     */
+    default void onEnterTag(@NotNull JsonTag tag, @NotNull CheckResult.Builder check) { }
+
+    /**
+     * Called after a tag checked an element, on the same thread as {@link #onEnterTag(JsonTag, CheckResult.Builder)}.
+     * If the check failed with an exception, the element is reported as invalid.
+     * @param tag Tag which checked the element
+     * @param check Builder of the check
+     * @param valid Whether the element is valid
+     */
+    default void onExitTag(@NotNull JsonTag tag, @NotNull CheckResult.Builder check, boolean valid) { }
+
+    /**
+     * Called when an error is found. Errors exceeding the error budget of the check are not reported.
+     * @param path Path of the error
+     * @param error The error
+     * @param check Builder of the check
+     */
+    default void onError(@NotNull String path, @NotNull JsonFormatCheckError error, @NotNull CheckResult.Builder check) { }
+
+    /**
+     * Called when a group tag hands the element over to its group.
+     * @param groupName Lowercase name of the group
+     * @param check Builder of the check
+     */
+    default void onGroupResolved(@NotNull String groupName, @NotNull CheckResult.Builder check) { }
+
+    /**
+     * Called when a conditional applies because the reference key holds its reference value.
+     * @param referenceKey Key holding the reference value
+     * @param referenceValue Reference value of the conditional
+     * @param check Builder of the check
+     */
+    default void onConditionalTaken(@NotNull String referenceKey, @NotNull String referenceValue, @NotNull CheckResult.Builder check) { }
+}
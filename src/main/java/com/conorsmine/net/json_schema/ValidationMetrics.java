@@ -0,0 +1,278 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
+import com.conorsmine.net.json_schema.tags.JsonTag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A listener counting checks, errors and latencies per schema path. <br>
+ * All array indices of a path are collapsed into {@code []}, e.g. {@code "weapon_data.tags[]"},
+ * so the amount of paths is bound by the schema and not by the checked JSONs.
+ * Latencies are measured per tag and include the time spent checking the children of the element.
+ * They are kept in a histogram of power of two buckets, so percentiles are approximations. <br>
+ * Counters can be updated by any amount of threads without blocking each other.
+ */
+public class ValidationMetrics implements ValidationListener {
+
+    private static final String INDEX_SEGMENT = "[]";
+
+    private final Node root = new Node("");
+    private final ThreadLocal<TimerStack> timers = ThreadLocal.withInitial(TimerStack::new);
+
+    @Override
+    public void onEnterTag(@NotNull JsonTag tag, @NotNull CheckResult.Builder check) {
+        timers.get().push(getNode(check), System.nanoTime());
+    }
+
+    @Override
+    public void onExitTag(@NotNull JsonTag tag, @NotNull CheckResult.Builder check, boolean valid) {
+        final TimerStack stack = timers.get();
+        final long nanos = System.nanoTime() - stack.peekStart();
+        final Node node = stack.pop();
+        node.checks.increment();
+        if (!valid) node.invalid.increment();
+        node.totalNanos.add(nanos);
+        node.latencies.incrementAndGet(64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    @Override
+    public void onError(@NotNull String path, @NotNull JsonFormatCheckError error, @NotNull CheckResult.Builder check) {
+        getNode(check).errors.increment();
+    }
+
+    @Override
+    public void onGroupResolved(@NotNull String groupName, @NotNull CheckResult.Builder check) {
+        getNode(check).groupResolutions.increment();
+    }
+
+    @Override
+    public void onConditionalTaken(@NotNull String referenceKey, @NotNull String referenceValue, @NotNull CheckResult.Builder check) {
+        getNode(check).conditionalsTaken.computeIfAbsent(referenceValue, (value) -> new LongAdder()).increment();
+    }
+
+    /**
+     * Takes a snapshot of the metrics of all paths checked so far.
+     * @return the metrics by path, sorted by path
+     */
+    public Map<String, PathMetrics> getMetrics() {
+        final Map<String, PathMetrics> metrics = new TreeMap<>();
+        collect(root, metrics);
+        return Collections.unmodifiableMap(metrics);
+    }
+
+    /**
+     * Clears the metrics of all paths. <br>
+     * Checks running at the same time may still be counted afterwards.
+     */
+    public void reset() {
+        root.children.clear();
+        root.clear();
+    }
+
+    private static void collect(Node node, Map<String, PathMetrics> metrics) {
+        if (node.checks.sum() > 0 || node.errors.sum() > 0) metrics.put(node.path, new PathMetrics(node));
+        for (Node child : node.children.values()) collect(child, metrics);
+    }
+
+    // Walks the path of the builder without rendering it
+    private Node getNode(CheckResult.Builder check) {
+        Node node = root;
+        final int depth = check.getPathDepth();
+        for (int i = 0; i < depth; i++) {
+            final String key = check.getPathKey(i);
+            node = node.getChild(key == null ? INDEX_SEGMENT : key);
+        }
+        return node;
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Nodes
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static class Node {
+
+        private final String path;
+        private final ConcurrentHashMap<String, Node> children = new ConcurrentHashMap<>();
+
+        private final LongAdder checks = new LongAdder();
+        private final LongAdder invalid = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder groupResolutions = new LongAdder();
+        // Bucket i counts the latencies below 2^i nanoseconds and at least 2^(i - 1)
+        private final AtomicLongArray latencies = new AtomicLongArray(65);
+        private final ConcurrentHashMap<String, LongAdder> conditionalsTaken = new ConcurrentHashMap<>();
+
+        private Node(String path) {
+            this.path = path;
+        }
+
+        private Node getChild(String segment) {
+            final Node child = children.get(segment);
+            if (child != null) return child;
+            return children.computeIfAbsent(segment, this::createChild);
+        }
+
+        private Node createChild(String segment) {
+            if (segment.equals(INDEX_SEGMENT)) return new Node(path + INDEX_SEGMENT);
+            return new Node(path.isEmpty() ? segment : path + '.' + segment);
+        }
+
+        private void clear() {
+            checks.reset();
+            invalid.reset();
+            errors.reset();
+            totalNanos.reset();
+            groupResolutions.reset();
+            for (int i = 0; i < latencies.length(); i++) latencies.set(i, 0);
+            conditionalsTaken.clear();
+        }
+    }
+
+    // The nodes and start times of the tags currently being checked by a thread
+    private static class TimerStack {
+
+        private Node[] nodes = new Node[16];
+        private long[] starts = new long[16];
+        private int depth = 0;
+
+        private void push(Node node, long start) {
+            if (depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                starts = Arrays.copyOf(starts, depth * 2);
+            }
+            nodes[depth] = node;
+            starts[depth] = start;
+            depth++;
+        }
+
+        private long peekStart() {
+            if (depth == 0) throw new IllegalStateException("A tag was exited without being entered! (Please report this as a bug)");
+            return starts[depth - 1];
+        }
+
+        private Node pop() {
+            final Node node = nodes[--depth];
+            nodes[depth] = null;
+            return node;
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Snapshot
+    ///////////////////////////////////////////////////////////////////////////
+
+    /**
+     * The metrics of a single schema path at the time of {@link ValidationMetrics#getMetrics()}.
+     */
+    public static class PathMetrics {
+
+        private final String path;
+        private final long checks;
+        private final long invalid;
+        private final long errors;
+        private final long totalNanos;
+        private final long groupResolutions;
+        private final long[] latencies;
+        private final Map<String, Long> conditionalsTaken;
+
+        private PathMetrics(Node node) {
+            this.path = node.path;
+            this.checks = node.checks.sum();
+            this.invalid = node.invalid.sum();
+            this.errors = node.errors.sum();
+            this.totalNanos = node.totalNanos.sum();
+            this.groupResolutions = node.groupResolutions.sum();
+            this.latencies = new long[node.latencies.length()];
+            for (int i = 0; i < latencies.length; i++) latencies[i] = node.latencies.get(i);
+
+            final Map<String, Long> conditionalsTaken = new HashMap<>();
+            node.conditionalsTaken.forEach((value, count) -> conditionalsTaken.put(value, count.sum()));
+            this.conditionalsTaken = Collections.unmodifiableMap(conditionalsTaken);
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * The amount of times a tag checked an element at this path.
+         */
+        public long getChecks() {
+            return checks;
+        }
+
+        /**
+         * The amount of checks which found the element to be invalid.
+         */
+        public long getInvalid() {
+            return invalid;
+        }
+
+        /**
+         * The amount of errors reported at this path.
+         */
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMeanNanos() {
+            return (checks == 0) ? 0 : totalNanos / checks;
+        }
+
+        /**
+         * The amount of times a group was used to check an element at this path.
+         */
+        public long getGroupResolutions() {
+            return groupResolutions;
+        }
+
+        /**
+         * The amount of times each conditional of the object at this path applied.
+         * @return the counts by reference value
+         */
+        public Map<String, Long> getConditionalsTaken() {
+            return conditionalsTaken;
+        }
+
+        /**
+         * Approximates a percentile of the latencies at this path.
+         * @param percentile Percentile between {@code 0} and {@code 100}
+         * @return the upper bound of the histogram bucket holding the percentile in nanoseconds
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile < 0 || percentile > 100) throw new UnsupportedOperationException("The percentile value must be >= 0 and <= 100!");
+
+            long count = 0;
+            for (long bucket : latencies) count += bucket;
+            if (count == 0) return 0;
+
+            final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < latencies.length; i++) {
+                seen += latencies[i];
+                if (seen >= rank) return (i == 64) ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+            return Long.MAX_VALUE;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d checks, %d invalid, %d errors, mean %dns, p99 %dns",
+                    path, checks, invalid, errors, getMeanNanos(), getPercentileNanos(99));
+        }
+    }
+}
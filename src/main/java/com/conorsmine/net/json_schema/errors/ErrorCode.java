@@ -0,0 +1,30 @@
+package com.conorsmine.net.json_schema.errors;
+
+/**
+ * The kind of a {@link JsonFormatCheckError}, so errors can be told apart without parsing their messages.
+ */
+public enum ErrorCode {
+
+    /** The element is not of the type of its tag. */
+    TYPE_MISMATCH,
+    /** A required key is missing. */
+    MISSING_TAG,
+    /** The value is not one of the values the tag allows. */
+    INCORRECT_VALUE,
+    /** The value or size is below the minimum. */
+    TOO_FEW,
+    /** The value or size is above the maximum. */
+    TOO_MANY,
+    /** The value or size is outside of the allowed range. */
+    OUTSIDE_RANGE,
+    /** The size differs from the exact size required. */
+    INCORRECT_SIZE,
+    /** The reference key of conditionals does not hold a primitive. */
+    INVALID_REFERENCE,
+    /** The destination key of an applying conditional is missing. */
+    MISSING_DESTINATION,
+    /** The input is no valid JSON. */
+    MALFORMED_JSON,
+    /** Any other error. */
+    OTHER
+}
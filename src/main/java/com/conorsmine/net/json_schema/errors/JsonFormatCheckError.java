@@ -1,17 +1,80 @@
 package com.conorsmine.net.json_schema.errors;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+/**
+ * Error describing why a JSON does not comply with a schema. <br>
+ * These errors are reported, not thrown, so no stack trace is captured
+ * and lazily created messages are only formatted on the first {@link #getMessage()} call.
+ * Errors may be shared by any amount of threads, racing threads may format the same message more than once.
+ */
 public class JsonFormatCheckError extends Error {
-    public JsonFormatCheckError() { }
+
+    private final ErrorCode code;
+    // The message is written before the supplier is cleared, so once it is cleared the message is visible
+    private transient volatile Supplier<String> messageSupplier;
+    private volatile String message;
+
+    public JsonFormatCheckError() {
+        super(null, null, false, false);
+        this.code = ErrorCode.OTHER;
+    }
 
     public JsonFormatCheckError(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.code = ErrorCode.OTHER;
+        this.message = message;
     }
 
     public JsonFormatCheckError(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
+        this.code = ErrorCode.OTHER;
+        this.message = message;
     }
 
     public JsonFormatCheckError(Throwable cause) {
-        super(cause);
+        super((cause == null) ? null : cause.toString(), cause, false, false);
+        this.code = ErrorCode.OTHER;
+        this.message = (cause == null) ? null : cause.toString();
+    }
+
+    /**
+     * @param messageSupplier Creates the message once it is first requested
+     */
+    public JsonFormatCheckError(final @NotNull Supplier<String> messageSupplier) {
+        this(ErrorCode.OTHER, messageSupplier);
+    }
+
+    /**
+     * @param code Kind of the error
+     * @param messageSupplier Creates the message once it is first requested
+     */
+    public JsonFormatCheckError(final @NotNull ErrorCode code, final @NotNull Supplier<String> messageSupplier) {
+        super(null, null, false, false);
+        this.code = code;
+        this.messageSupplier = messageSupplier;
+    }
+
+    public ErrorCode getCode() {
+        return code;
+    }
+
+    @Override
+    public String getMessage() {
+        final Supplier<String> supplier = messageSupplier;
+        if (supplier != null) {
+            message = supplier.get();
+            messageSupplier = null;
+        }
+        return message;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getMessage();
+        out.defaultWriteObject();
     }
 }
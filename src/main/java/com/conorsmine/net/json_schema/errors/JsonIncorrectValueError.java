@@ -10,9 +10,13 @@ import java.util.Collection;
 public class JsonIncorrectValueError extends JsonFormatCheckError {
 
     public JsonIncorrectValueError(String path, @NotNull JsonElement tag, @NotNull TagType type, @NotNull Collection<? extends Serializable> validValues) {
-        super(String.format(
+        this(path, tag.getAsString(), type, validValues);
+    }
+
+    public JsonIncorrectValueError(String path, @NotNull String value, @NotNull TagType type, @NotNull Collection<? extends Serializable> validValues) {
+        super(ErrorCode.INCORRECT_VALUE, () -> String.format(
                 "The value \"%s\" is incorrect for \"%s\". \"%s\" should be one of the following: [%s%s].",
-                tag.getAsString(),
+                value,
                 type.name(),
                 path,
                 validValues.stream().limit(5).map(Serializable::toString).reduce((a, b) -> a + ", " + b).orElse(""),
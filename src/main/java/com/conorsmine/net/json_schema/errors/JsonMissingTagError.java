@@ -5,6 +5,6 @@ import com.conorsmine.net.json_schema.TagType;
 public class JsonMissingTagError extends JsonFormatCheckError {
 
     public JsonMissingTagError(String path, TagType type) {
-        super(String.format("\"%s\" is missing! Please add a %s.", path, type.name()));
+        super(ErrorCode.MISSING_TAG, () -> String.format("\"%s\" is missing! Please add a %s.", path, type.name()));
     }
 }
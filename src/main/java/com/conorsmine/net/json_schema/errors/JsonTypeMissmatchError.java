@@ -5,7 +5,11 @@ import com.google.gson.JsonElement;
 
 public class JsonTypeMissmatchError extends JsonFormatCheckError {
 
+    public JsonTypeMissmatchError(String path, TagType shouldType) {
+        super(ErrorCode.TYPE_MISMATCH, () -> String.format("The element \"%s\" is not of type %s.", path, shouldType.name()));
+    }
+
     public JsonTypeMissmatchError(String path, TagType shouldType, JsonElement json) {
-        super(String.format("The element \"%s\" is not of type %s.", path, shouldType.name()));
+        this(path, shouldType);
     }
 }
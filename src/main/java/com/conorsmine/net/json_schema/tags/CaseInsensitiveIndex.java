@@ -0,0 +1,86 @@
+package com.conorsmine.net.json_schema.tags;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable open addressing table finding strings while ignoring their capitalization. <br>
+ * Keys are hashed char by char after folding their case, so looking up a key
+ * neither lowercases nor copies it and allocates nothing. Any {@link CharSequence} can be looked up.
+ */
+final class CaseInsensitiveIndex {
+
+    private final String[] slots;
+    private final int[] indices;
+    private final int mask;
+    private final int size;
+
+    /**
+     * @param keys Keys of the index, a key's index is its position in the array.
+     *             Keys only differing in capitalization keep the first position.
+     */
+    CaseInsensitiveIndex(final @NotNull String... keys) {
+        int capacity = 4;
+        while (capacity < keys.length * 2) capacity <<= 1;
+
+        this.slots = new String[capacity];
+        this.indices = new int[capacity];
+        this.mask = capacity - 1;
+
+        int size = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (slots[slot] != null && !matches(slots[slot], keys[i])) slot = (slot + 1) & mask;
+            if (slots[slot] != null) continue;
+
+            slots[slot] = keys[i];
+            indices[slot] = i;
+            size++;
+        }
+        this.size = size;
+    }
+
+    /**
+     * @return the position of the key in the array the index was created from, or {@code -1} if it isn't part of it
+     */
+    int indexOf(final @NotNull CharSequence key) {
+        int slot = hash(key) & mask;
+        while (slots[slot] != null) {
+            if (matches(slots[slot], key)) return indices[slot];
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean contains(final @NotNull CharSequence key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * The amount of distinct keys, ignoring capitalization.
+     */
+    int size() {
+        return size;
+    }
+
+    // Compares the same way String#equalsIgnoreCase does
+    private static boolean matches(String slot, CharSequence key) {
+        if (slot.length() != key.length()) return false;
+
+        for (int i = 0; i < slot.length(); i++) {
+            final char a = slot.charAt(i), b = key.charAt(i);
+            if (a == b) continue;
+
+            final char upperA = Character.toUpperCase(a), upperB = Character.toUpperCase(b);
+            if (upperA != upperB && Character.toLowerCase(upperA) != Character.toLowerCase(upperB)) return false;
+        }
+        return true;
+    }
+
+    // Folds the same way String#equalsIgnoreCase compares chars
+    private static int hash(CharSequence key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++)
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        return hash ^ (hash >>> 16);
+    }
+}
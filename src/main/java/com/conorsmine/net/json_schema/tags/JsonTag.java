@@ -1,7 +1,24 @@
 package com.conorsmine.net.json_schema.tags;
 
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.conorsmine.net.json_schema.ValidationListener;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+
+/**
+ * A tag describing what a JSON element has to look like. <br>
+ * Tags are immutable once built and may be used by any amount of threads at the same time.
+ * All state of a check is held by the {@link CheckResult.Builder}, which belongs to a single thread.
+ */
 public abstract class JsonTag implements TagPredicate {
 
     final TagType type;
@@ -21,4 +38,153 @@ public abstract class JsonTag implements TagPredicate {
         return type;
     }
 
+    /**
+     * Checks the element, notifying the listener of the check if there is one.
+     *
+     * @param json Element to check
+     * @param errorBuilder Builder to report errors to
+     * @see #check(Object, JsonAccess, CheckResult.Builder)
+     */
+    public final boolean check(@NotNull JsonElement json, @NotNull CheckResult.Builder errorBuilder) {
+        return check(json, JsonAccess.gson(), errorBuilder);
+    }
+
+    /**
+     * Checks the node, notifying the listener of the check if there is one. <br>
+     * Tags check their child tags through this method.
+     *
+     * @param json Node to check
+     * @param access Access to the nodes of the document
+     * @param errorBuilder Builder to report errors to
+     * @see ValidationListener
+     */
+    public final <N> boolean check(@NotNull N json, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener == null) return isValid(json, access, errorBuilder);
+
+        // The tag is exited even if the check throws, so the listener stays balanced
+        listener.onEnterTag(this, errorBuilder);
+        boolean valid = false;
+        try {
+            valid = isValid(json, access, errorBuilder);
+            return valid;
+        } finally {
+            listener.onExitTag(this, errorBuilder, valid);
+        }
+    }
+
+    /**
+     * Checks the value the reader is currently positioned at, notifying the listener of the check if there is one.
+     *
+     * @param reader Reader positioned in front of the value to check
+     * @param errorBuilder Builder to report errors to
+     * @see #check(JsonElement, CheckResult.Builder)
+     */
+    public final boolean check(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener == null) return isValid(reader, errorBuilder);
+
+        // The tag is exited even if the check throws, so the listener stays balanced
+        listener.onEnterTag(this, errorBuilder);
+        boolean valid = false;
+        try {
+            valid = isValid(reader, errorBuilder);
+            return valid;
+        } finally {
+            listener.onExitTag(this, errorBuilder, valid);
+        }
+    }
+
+    /**
+     * Checks the value the UTF-8 reader is currently positioned at, notifying the listener of the check if there is one.
+     *
+     * @param reader Reader positioned in front of the value to check
+     * @param errorBuilder Builder to report errors to
+     * @see #check(JsonElement, CheckResult.Builder)
+     */
+    public final boolean check(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener == null) return isValid(reader, errorBuilder);
+
+        // The tag is exited even if the check throws, so the listener stays balanced
+        listener.onEnterTag(this, errorBuilder);
+        boolean valid = false;
+        try {
+            valid = isValid(reader, errorBuilder);
+            return valid;
+        } finally {
+            listener.onExitTag(this, errorBuilder, valid);
+        }
+    }
+
+    /**
+     * Checks the value the reader is currently positioned at and consumes it. <br>
+     * By default only primitives are read into memory, containers are skipped and
+     * checked as empty elements. Tags which expect containers override this method
+     * to walk the token stream themselves.
+     *
+     * @param reader Reader positioned in front of the value to check
+     * @param errorBuilder Builder to report errors to
+     */
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.skipValue();
+                return isValid(new JsonObject(), errorBuilder);
+            case BEGIN_ARRAY:
+                reader.skipValue();
+                return isValid(new JsonArray(), errorBuilder);
+            default:
+                return isValid(JsonParser.parseReader(reader), errorBuilder);
+        }
+    }
+
+    /**
+     * Checks the value the UTF-8 reader is currently positioned at and consumes it. <br>
+     * Works like {@link #isValid(JsonReader, CheckResult.Builder)}, tags override it to check
+     * the bytes of the input in place.
+     *
+     * @param reader Reader positioned in front of the value to check
+     * @param errorBuilder Builder to report errors to
+     */
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case BEGIN_OBJECT:
+                reader.skipValue();
+                return isValid(new JsonObject(), errorBuilder);
+            case BEGIN_ARRAY:
+                reader.skipValue();
+                return isValid(new JsonArray(), errorBuilder);
+            default:
+                return isValid(reader.readTree(), errorBuilder);
+        }
+    }
+
+    /**
+     * Whether the verdict of this tag only depends on the shape of the element and not on any of its values. <br>
+     * The verdicts of such tags can be cached by the shape of the element.
+     * @see com.conorsmine.net.json_schema.ShapeCache
+     */
+    boolean isShapeOnly() {
+        return false;
+    }
+
+    /**
+     * Adds the shape of the node, as far as this tag checks it, to the fingerprint.
+     * Only called for compiled tags which are {@link #isShapeOnly()}.
+     * @param node Node to add, may be of any type
+     */
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        throw new IllegalStateException("The tag type " + type + " does not only check shapes! (Please report this as a bug)");
+    }
+
+    /**
+     * Creates the form of this tag checked by a {@link com.conorsmine.net.json_schema.JsonSchema}. <br>
+     * Tags without child tags never change, so they are their own compiled form.
+     * @param compiler Compiler used to compile the child tags
+     */
+    JsonTag compile(SchemaCompiler compiler) {
+        return this;
+    }
+
 }
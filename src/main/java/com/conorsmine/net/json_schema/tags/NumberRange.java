@@ -0,0 +1,176 @@
+package com.conorsmine.net.json_schema.tags;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The range a {@link TagNumeric} accepts, specialized on the type of its bounds. <br>
+ * Each {@code locate} method compares exactly and returns a negative number if the value is below the minimum,
+ * a positive number if it is above the maximum and {@code 0} if it is inside the range.
+ * {@code NaN} is outside of every range, infinities are outside of the ranges bounded in their direction.
+ */
+abstract class NumberRange {
+
+    /**
+     * Creates the range fitting the bounds best.
+     * @return the range, or {@code null} if there are no bounds
+     */
+    static @Nullable NumberRange of(@Nullable Number minValue, @Nullable Number maxValue) {
+        if (minValue == null && maxValue == null) return null;
+        if (isIntegral(minValue) && isIntegral(maxValue)) return new LongRange(minValue, maxValue);
+        if (isFloating(minValue) && isFloating(maxValue)) return new DoubleRange(minValue, maxValue);
+        return new DecimalRange(minValue, maxValue);
+    }
+
+    abstract int locate(long value);
+
+    abstract int locate(double value);
+
+    abstract int locate(BigDecimal value);
+
+    static boolean isIntegral(@Nullable Number number) {
+        return number == null || number instanceof Long || number instanceof Integer || number instanceof Short || number instanceof Byte;
+    }
+
+    static boolean isFloating(@Nullable Number number) {
+        return number == null || number instanceof Double || number instanceof Float;
+    }
+
+    /**
+     * Compares a double to a long without losing the precision of either.
+     */
+    static int compare(double value, long bound) {
+        if (value < -0x1p63) return -1;
+        if (value >= 0x1p63) return 1;
+
+        // The value fits a long now, so truncating it and taking the fraction are exact
+        final long truncated = (long) value;
+        if (truncated != bound) return truncated < bound ? -1 : 1;
+        final double fraction = value - truncated;
+        return fraction < 0 ? -1 : (fraction > 0 ? 1 : 0);
+    }
+
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) return (BigDecimal) number;
+        if (number instanceof BigInteger) return new BigDecimal((BigInteger) number);
+        if (isIntegral(number)) return BigDecimal.valueOf(number.longValue());
+        if (number instanceof Double || number instanceof Float) {
+            if (!Double.isFinite(number.doubleValue())) throw new UnsupportedOperationException("The bounds of a number must be finite!");
+            return new BigDecimal(number.doubleValue());
+        }
+        return new BigDecimal(number.toString());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Ranges
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class LongRange extends NumberRange {
+
+        private final boolean hasMin, hasMax;
+        private final long minValue, maxValue;
+        private final BigDecimal minDecimal, maxDecimal;
+
+        private LongRange(@Nullable Number minValue, @Nullable Number maxValue) {
+            this.hasMin = minValue != null;
+            this.hasMax = maxValue != null;
+            this.minValue = hasMin ? minValue.longValue() : 0;
+            this.maxValue = hasMax ? maxValue.longValue() : 0;
+            this.minDecimal = hasMin ? BigDecimal.valueOf(this.minValue) : null;
+            this.maxDecimal = hasMax ? BigDecimal.valueOf(this.maxValue) : null;
+        }
+
+        @Override
+        int locate(long value) {
+            if (hasMin && value < minValue) return -1;
+            if (hasMax && value > maxValue) return 1;
+            return 0;
+        }
+
+        @Override
+        int locate(double value) {
+            if (Double.isNaN(value)) return hasMax ? 1 : -1;
+            if (hasMin && compare(value, minValue) < 0) return -1;
+            if (hasMax && compare(value, maxValue) > 0) return 1;
+            return 0;
+        }
+
+        @Override
+        int locate(BigDecimal value) {
+            if (hasMin && value.compareTo(minDecimal) < 0) return -1;
+            if (hasMax && value.compareTo(maxDecimal) > 0) return 1;
+            return 0;
+        }
+    }
+
+    private static final class DoubleRange extends NumberRange {
+
+        private final boolean hasMin, hasMax;
+        private final double minValue, maxValue;
+        private final BigDecimal minDecimal, maxDecimal;
+
+        private DoubleRange(@Nullable Number minValue, @Nullable Number maxValue) {
+            this.hasMin = minValue != null;
+            this.hasMax = maxValue != null;
+            this.minValue = hasMin ? minValue.doubleValue() : 0;
+            this.maxValue = hasMax ? maxValue.doubleValue() : 0;
+            this.minDecimal = hasMin ? toBigDecimal(minValue) : null;
+            this.maxDecimal = hasMax ? toBigDecimal(maxValue) : null;
+        }
+
+        @Override
+        int locate(long value) {
+            if (hasMin && compare(minValue, value) > 0) return -1;
+            if (hasMax && compare(maxValue, value) < 0) return 1;
+            return 0;
+        }
+
+        @Override
+        int locate(double value) {
+            if (Double.isNaN(value)) return hasMax ? 1 : -1;
+            if (hasMin && value < minValue) return -1;
+            if (hasMax && value > maxValue) return 1;
+            return 0;
+        }
+
+        @Override
+        int locate(BigDecimal value) {
+            if (hasMin && value.compareTo(minDecimal) < 0) return -1;
+            if (hasMax && value.compareTo(maxDecimal) > 0) return 1;
+            return 0;
+        }
+    }
+
+    // Used for BigDecimal and BigInteger bounds, or bounds of mixed types
+    private static final class DecimalRange extends NumberRange {
+
+        private final BigDecimal minValue, maxValue;
+
+        private DecimalRange(@Nullable Number minValue, @Nullable Number maxValue) {
+            this.minValue = minValue != null ? toBigDecimal(minValue) : null;
+            this.maxValue = maxValue != null ? toBigDecimal(maxValue) : null;
+        }
+
+        @Override
+        int locate(long value) {
+            return locate(BigDecimal.valueOf(value));
+        }
+
+        @Override
+        int locate(double value) {
+            if (Double.isNaN(value)) return maxValue != null ? 1 : -1;
+            // Infinities have no BigDecimal, but are only outside of a bound in their direction
+            if (Double.isInfinite(value)) return value > 0 ? (maxValue != null ? 1 : 0) : (minValue != null ? -1 : 0);
+            return locate(new BigDecimal(value));
+        }
+
+        @Override
+        int locate(BigDecimal value) {
+            if (minValue != null && value.compareTo(minValue) < 0) return -1;
+            if (maxValue != null && value.compareTo(maxValue) > 0) return 1;
+            return 0;
+        }
+    }
+}
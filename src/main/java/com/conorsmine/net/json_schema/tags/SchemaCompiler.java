@@ -0,0 +1,92 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.ShapeCache;
+import com.conorsmine.net.json_schema.TagType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lowers the tags of a schema into the form checked by a {@link com.conorsmine.net.json_schema.JsonSchema}. <br>
+ * The compiled tags are owned by the schema. Objects keep their keys in flat arrays split by kind
+ * and group tags point directly to their group, so checking needs no map lookups or type switches.
+ */
+public class SchemaCompiler {
+
+    private final Map<String, JsonTag> groupMap;
+    private final Map<JsonTag, JsonTag> compiledTags = new IdentityHashMap<>();
+    private final List<TagGroup> unlinkedGroupTags = new ArrayList<>();
+    private final ShapeCache shapeCache;
+    // Whether the tags currently compiled are part of a subtree whose verdict is cached by its shape
+    private boolean insideShapeOnly = false;
+
+    /**
+     * @param groupMap Groups of the schema mapped by their lowercase name
+     */
+    public SchemaCompiler(final @NotNull Map<String, JsonTag> groupMap) {
+        this(groupMap, null);
+    }
+
+    /**
+     * @param groupMap Groups of the schema mapped by their lowercase name
+     * @param shapeCache Cache of the verdicts of subtrees only checked by their shape, {@code null} to not cache them
+     */
+    public SchemaCompiler(final @NotNull Map<String, JsonTag> groupMap, final @Nullable ShapeCache shapeCache) {
+        this.groupMap = groupMap;
+        this.shapeCache = shapeCache;
+    }
+
+    /**
+     * Compiles the tag. Tags used multiple times are only compiled once.
+     * @param tag Tag to compile
+     * @return the compiled tag
+     */
+    public JsonTag compile(final @NotNull JsonTag tag) {
+        final JsonTag compiled = compiledTags.get(tag);
+        if (compiled != null) return compiled;
+
+        // Only the outermost objects and arrays of a shape only subtree are cached, their children are part of the shape
+        final boolean cached = shapeCache != null && !insideShapeOnly
+                && (tag.getType() == TagType.OBJ || tag.getType() == TagType.ARR) && tag.isShapeOnly();
+        if (cached) insideShapeOnly = true;
+        JsonTag newlyCompiled = tag.compile(this);
+        if (cached) {
+            insideShapeOnly = false;
+            newlyCompiled = new TagShapeCached(newlyCompiled, shapeCache);
+        }
+
+        compiledTags.put(tag, newlyCompiled);
+        return newlyCompiled;
+    }
+
+    /**
+     * Compiles the groups of the schema and links every compiled group tag to its group. <br>
+     * Groups may use themselves, so this has to be called once all other tags are compiled.
+     * @return the compiled groups mapped by their lowercase name
+     * @throws IllegalStateException if a group tag uses a group which does not exist
+     */
+    public Map<String, JsonTag> compileGroups() throws IllegalStateException {
+        final Map<String, JsonTag> compiledGroups = new HashMap<>();
+        for (Map.Entry<String, JsonTag> entry : groupMap.entrySet())
+            compiledGroups.put(entry.getKey(), compile(entry.getValue()));
+
+        for (TagGroup groupTag : unlinkedGroupTags) {
+            final JsonTag group = compiledGroups.get(groupTag.getGroupName());
+            if (group == null) throw new IllegalStateException("Group not found for key: " + groupTag.getGroupName());
+            groupTag.link(group);
+        }
+        unlinkedGroupTags.clear();
+
+        return Collections.unmodifiableMap(compiledGroups);
+    }
+
+    void linkLater(TagGroup groupTag) {
+        unlinkedGroupTags.add(groupTag);
+    }
+}
@@ -0,0 +1,341 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.TagType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The tags and groups of a schema in a compact binary form. <br>
+ * A snapshot holds the tags the schema was built from, so reading one only
+ * rebuilds the tags without checking them against the parser schema again.
+ * Tags used multiple times are written once and referenced afterwards.
+ */
+public class SchemaSnapshot {
+
+    private static final int MAGIC = 0x4A534353;    // "JSCS"
+    private static final short VERSION = 1;
+
+    private static final byte REFERENCE = 0, STR = 1, CHAR = 2, NUMERIC = 3, BOOL = 4, UUID = 5, ENUM = 6,
+            OBJ = 7, ARR = 8, GROUP = 9, CONDITIONALS = 10, ANY = 11;
+    // Each boxed type of a bound gets its own kind, so the bounds are read back as the type they were set as
+    private static final byte NO_NUMBER = 0, LONG_NUMBER = 1, DOUBLE_NUMBER = 2, FLOAT_NUMBER = 3, BIG_INTEGER_NUMBER = 4, BIG_DECIMAL_NUMBER = 5,
+            INTEGER_NUMBER = 6, SHORT_NUMBER = 7, BYTE_NUMBER = 8;
+
+    private final JsonTag root;
+    private final Map<String, JsonTag> groups;
+
+    /**
+     * @param root Root tag of the schema
+     * @param groups Groups of the schema mapped by their lowercase name
+     */
+    public SchemaSnapshot(final @NotNull JsonTag root, final @NotNull Map<String, JsonTag> groups) {
+        this.root = root;
+        this.groups = Collections.unmodifiableMap(groups);
+    }
+
+    public JsonTag getRoot() {
+        return root;
+    }
+
+    public Map<String, JsonTag> getGroups() {
+        return groups;
+    }
+
+    public void write(final @NotNull DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        final Writer writer = new Writer(out);
+        writer.writeTag(root);
+        out.writeInt(groups.size());
+        for (Map.Entry<String, JsonTag> group : groups.entrySet()) {
+            out.writeUTF(group.getKey());
+            writer.writeTag(group.getValue());
+        }
+    }
+
+    /**
+     * @throws IOException if the input fails or holds no snapshot of a supported version
+     */
+    public static SchemaSnapshot read(final @NotNull DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("The data is not a schema snapshot!");
+        final short version = in.readShort();
+        if (version != VERSION) throw new IOException("The schema snapshot version " + version + " is not supported!");
+
+        final Reader reader = new Reader(in);
+        final JsonTag root = reader.readTag();
+        final int groupCount = in.readInt();
+        final Map<String, JsonTag> groups = new LinkedHashMap<>();
+        for (int i = 0; i < groupCount; i++) groups.put(in.readUTF(), reader.readTag());
+
+        return new SchemaSnapshot(root, groups);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Writer
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Writer {
+
+        private final DataOutput out;
+        private final Map<JsonTag, Integer> writtenTags = new IdentityHashMap<>();
+
+        private Writer(DataOutput out) {
+            this.out = out;
+        }
+
+        private void writeTag(JsonTag tag) throws IOException {
+            final Integer reference = writtenTags.get(tag);
+            if (reference != null) {
+                out.writeByte(REFERENCE);
+                out.writeInt(reference);
+                return;
+            }
+
+            writeTagBody(tag);
+            writtenTags.put(tag, writtenTags.size());
+        }
+
+        private void writeTagBody(JsonTag tag) throws IOException {
+            if (tag instanceof TagString) {
+                final TagString string = (TagString) tag;
+                writeHeader(STR, tag);
+                writeNullableLong(string.minLen);
+                writeNullableLong(string.maxLen);
+            } else if (tag instanceof TagChar) {
+                writeHeader(CHAR, tag);
+                final Set<Character> validChars = ((TagChar) tag).validChars;
+                out.writeInt(validChars.size());
+                for (char c : validChars) out.writeChar(c);
+            } else if (tag instanceof TagNumeric) {
+                final TagNumeric<?> numeric = (TagNumeric<?>) tag;
+                writeHeader(NUMERIC, tag);
+                out.writeUTF(tag.getType().name());
+                writeNumber(numeric.minValue);
+                writeNumber(numeric.maxValue);
+            } else if (tag instanceof TagBoolean) {
+                final TagBoolean bool = (TagBoolean) tag;
+                writeHeader(BOOL, tag);
+                writeStrings(bool.validBools.toArray(new String[0]));
+                writeStrings(bool.invalidBools.toArray(new String[0]));
+            } else if (tag instanceof TagUUID) {
+                writeHeader(UUID, tag);
+                out.writeBoolean(((TagUUID) tag).lenient);
+            } else if (tag instanceof TagEnum) {
+                writeHeader(ENUM, tag);
+                writeStrings(((TagEnum) tag).enumConstants);
+            } else if (tag instanceof TagObj) {
+                writeHeader(OBJ, tag);
+                final Map<String, JsonTag> keyTagMap = ((TagObj) tag).keyTagMap;
+                out.writeInt(keyTagMap.size());
+                for (Map.Entry<String, JsonTag> entry : keyTagMap.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    writeTag(entry.getValue());
+                }
+            } else if (tag instanceof TagArr) {
+                final TagArr arr = (TagArr) tag;
+                writeHeader(ARR, tag);
+                writeNullableLong(arr.minSize);
+                writeNullableLong(arr.maxSize);
+                out.writeInt(arr.parallelThreshold);
+                writeTag(arr.tagFromat);
+            } else if (tag instanceof TagGroup) {
+                writeHeader(GROUP, tag);
+                out.writeUTF(((TagGroup) tag).getGroupName());
+            } else if (tag instanceof TagConditional.SuperSecretTagConditionalCollection) {
+                final TagConditional.SuperSecretTagConditionalCollection collection = (TagConditional.SuperSecretTagConditionalCollection) tag;
+                writeHeader(CONDITIONALS, tag);
+                out.writeUTF(collection.referenceKey);
+                out.writeInt(collection.conditionals.length);
+                for (TagConditional conditional : collection.conditionals) {
+                    out.writeUTF(conditional.referenceValue);
+                    out.writeUTF(conditional.destinationKey);
+                    out.writeBoolean(conditional.required);
+                    writeTag(conditional.tagFormat);
+                }
+            } else if (tag instanceof TagAny) {
+                writeHeader(ANY, tag);
+            } else {
+                throw new IllegalStateException("The tag " + tag.getClass().getName() + " can't be written to a snapshot! (Please report this as a bug)");
+            }
+        }
+
+        private void writeHeader(byte kind, JsonTag tag) throws IOException {
+            out.writeByte(kind);
+            out.writeBoolean(tag.isOptional());
+        }
+
+        private void writeNullableLong(@Nullable Long value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) out.writeLong(value);
+        }
+
+        private void writeNumber(@Nullable Number number) throws IOException {
+            if (number == null) out.writeByte(NO_NUMBER);
+            else if (number instanceof Long) {
+                out.writeByte(LONG_NUMBER);
+                out.writeLong(number.longValue());
+            } else if (number instanceof Integer) {
+                out.writeByte(INTEGER_NUMBER);
+                out.writeInt(number.intValue());
+            } else if (number instanceof Short) {
+                out.writeByte(SHORT_NUMBER);
+                out.writeShort(number.shortValue());
+            } else if (number instanceof Byte) {
+                out.writeByte(BYTE_NUMBER);
+                out.writeByte(number.byteValue());
+            } else if (number instanceof Double) {
+                out.writeByte(DOUBLE_NUMBER);
+                out.writeDouble(number.doubleValue());
+            } else if (number instanceof Float) {
+                out.writeByte(FLOAT_NUMBER);
+                out.writeFloat(number.floatValue());
+            } else if (number instanceof BigInteger) {
+                out.writeByte(BIG_INTEGER_NUMBER);
+                out.writeUTF(number.toString());
+            } else {
+                out.writeByte(BIG_DECIMAL_NUMBER);
+                out.writeUTF(number.toString());
+            }
+        }
+
+        private void writeStrings(String[] strings) throws IOException {
+            out.writeInt(strings.length);
+            for (String string : strings) out.writeUTF(string);
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Reader
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static final class Reader {
+
+        private final DataInput in;
+        private final List<JsonTag> readTags = new ArrayList<>();
+
+        private Reader(DataInput in) {
+            this.in = in;
+        }
+
+        private JsonTag readTag() throws IOException {
+            final byte kind = in.readByte();
+            if (kind == REFERENCE) {
+                final int reference = in.readInt();
+                if (reference < 0 || reference >= readTags.size()) throw new IOException("The schema snapshot references the unknown tag " + reference + "!");
+                return readTags.get(reference);
+            }
+
+            final JsonTag tag = readTagBody(kind, in.readBoolean());
+            readTags.add(tag);
+            return tag;
+        }
+
+        private JsonTag readTagBody(byte kind, boolean optional) throws IOException {
+            switch (kind) {
+                case STR: {
+                    final TagString.Builder builder = TagString.builder().setOptional(optional);
+                    final Long minLen = readNullableLong(), maxLen = readNullableLong();
+                    if (minLen != null) builder.setMinLen(minLen);
+                    if (maxLen != null) builder.setMaxLen(maxLen);
+                    return builder.build();
+                }
+                case CHAR: {
+                    final TagChar.Builder builder = TagChar.builder().setOptional(optional);
+                    final int count = in.readInt();
+                    for (int i = 0; i < count; i++) builder.addValidChar(in.readChar());
+                    return builder.build();
+                }
+                case NUMERIC: {
+                    final TagType type = readType();
+                    return TagNumeric.<Number>builder(type).setRange(readNumber(), readNumber()).setOptional(optional).build();
+                }
+                case BOOL: {
+                    final Set<String> validBools = new HashSet<>(), invalidBools = new HashSet<>();
+                    Collections.addAll(validBools, readStrings());
+                    Collections.addAll(invalidBools, readStrings());
+                    return new TagBoolean(optional, validBools, invalidBools);
+                }
+                case UUID:
+                    return TagUUID.builder().setOptional(optional).setLenient(in.readBoolean()).build();
+                case ENUM:
+                    return TagEnum.create(optional, readStrings());
+                case OBJ: {
+                    final TagObj.Builder builder = TagObj.builder().setOptional(optional);
+                    final int count = in.readInt();
+                    for (int i = 0; i < count; i++) builder.setKeyAs(in.readUTF(), readTag());
+                    return builder.build();
+                }
+                case ARR: {
+                    final TagArr.Builder builder = TagArr.builder().setOptional(optional);
+                    final Long minSize = readNullableLong(), maxSize = readNullableLong();
+                    if (minSize != null) builder.setMinSize(minSize);
+                    if (maxSize != null) builder.setMaxSize(maxSize);
+                    return builder.setParallelThreshold(in.readInt()).setTagFormat(readTag()).build();
+                }
+                case GROUP:
+                    return TagGroup.create(in.readUTF(), optional);
+                case CONDITIONALS: {
+                    final String referenceKey = in.readUTF();
+                    final TagConditional[] conditionals = new TagConditional[in.readInt()];
+                    for (int i = 0; i < conditionals.length; i++)
+                        conditionals[i] = TagConditional.create(in.readUTF(), in.readUTF(), in.readBoolean(), readTag());
+                    return new TagConditional.SuperSecretTagConditionalCollection(referenceKey, conditionals);
+                }
+                case ANY:
+                    return TagAny.create(optional);
+                default:
+                    throw new IOException("The schema snapshot holds the unknown tag kind " + kind + "!");
+            }
+        }
+
+        private TagType readType() throws IOException {
+            final String name = in.readUTF();
+            try {
+                return TagType.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("The schema snapshot holds the unknown type " + name + "!", e);
+            }
+        }
+
+        private @Nullable Long readNullableLong() throws IOException {
+            return in.readBoolean() ? in.readLong() : null;
+        }
+
+        private @Nullable Number readNumber() throws IOException {
+            final byte kind = in.readByte();
+            switch (kind) {
+                case NO_NUMBER: return null;
+                case LONG_NUMBER: return in.readLong();
+                case INTEGER_NUMBER: return in.readInt();
+                case SHORT_NUMBER: return in.readShort();
+                case BYTE_NUMBER: return in.readByte();
+                case DOUBLE_NUMBER: return in.readDouble();
+                case FLOAT_NUMBER: return in.readFloat();
+                case BIG_INTEGER_NUMBER: return new BigInteger(in.readUTF());
+                case BIG_DECIMAL_NUMBER: return new BigDecimal(in.readUTF());
+                default: throw new IOException("The schema snapshot holds the unknown number kind " + kind + "!");
+            }
+        }
+
+        private String[] readStrings() throws IOException {
+            final String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) strings[i] = in.readUTF();
+            return strings;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.JsonAccess;
+
+/**
+ * Hashes the shape of a subtree, as seen by the tags checking it. <br>
+ * Objects add each of their present keys followed by its shape and end with {@link #END}, arrays add their size first,
+ * so the tokens of different shapes never read the same.
+ * Two independent 64 bit hashes are kept, making collisions of different shapes practically impossible.
+ * @see JsonTag#addShape(Object, JsonAccess, ShapeFingerprint)
+ */
+final class ShapeFingerprint {
+
+    static final int NULL = 1, BOOLEAN = 2, NUMBER = 3, STRING = 4, OBJECT = 5, ARRAY = 6, MISSING = 7, END = 8;
+    // Keys are added as their index in the schema, after all other tokens
+    private static final int KEY = 9;
+
+    long high = 0x243F6A8885A308D3L, low = 0x13198A2E03707344L;
+
+    void add(long token) {
+        high = Long.rotateLeft((high ^ token) * 0x9E3779B97F4A7C15L, 29);
+        low = Long.rotateLeft((low + token) * 0xC2B2AE3D27D4EB4FL, 31) ^ (low >>> 17);
+    }
+
+    void addKey(int index) {
+        add(KEY + (long) index);
+    }
+
+    /**
+     * Adds the JSON type of the node.
+     */
+    <N> void addType(N node, JsonAccess<N> access) {
+        if (access.isObject(node)) add(OBJECT);
+        else if (access.isArray(node)) add(ARRAY);
+        else if (access.isNumber(node)) add(NUMBER);
+        else if (access.isBoolean(node)) add(BOOLEAN);
+        else if (access.isPrimitive(node)) add(STRING);
+        else add(NULL);
+    }
+}
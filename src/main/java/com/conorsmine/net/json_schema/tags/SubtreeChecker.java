@@ -0,0 +1,128 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Checks single subtrees of a document, used to check a document again after parts of it changed. <br>
+ * Subtrees are identified by the reference tokens of their JSON Pointer (RFC 6901).
+ * Like the compiled tags it walks, the checker is immutable and may be used by any amount of threads at the same time.
+ */
+public class SubtreeChecker {
+
+    private final JsonTag root;
+
+    /**
+     * @param root Compiled tag of the whole document
+     */
+    public SubtreeChecker(final @NotNull JsonTag root) {
+        this.root = root;
+    }
+
+    /**
+     * Finds the smallest subtree which has to be checked again after the node at the pointer changed. <br>
+     * This is the node itself, unless the tags above it check more than just their children on their own:
+     * Objects holding conditionals are checked as a whole if a reference or destination key changed,
+     * and arrays with a size outside of their bounds are checked as a whole as well.
+     * @param json Root node of the changed document
+     * @param access Access to the nodes of the document
+     * @param tokens Reference tokens of the pointer to the changed node
+     * @return the amount of tokens of the subtree's pointer, or {@code -1} if the schema doesn't check the node
+     */
+    public <N> int locate(final @NotNull N json, final @NotNull JsonAccess<N> access, final @NotNull String[] tokens) {
+        JsonTag tag = root;
+        N node = json;
+        for (int depth = 0; depth < tokens.length; depth++) {
+            // A node which doesn't exist is reported as missing by its parent
+            if (node == null) return depth;
+            tag = resolve(tag);
+
+            if (tag instanceof TagObj) {
+                final TagObj tagObj = (TagObj) tag;
+                if (!access.isObject(node) || tagObj.isConditionalKey(tokens[depth])) return depth;
+
+                tag = tagObj.keyTagMap.get(tokens[depth]);
+                if (tag == null) return -1;
+                node = access.get(node, tokens[depth]);
+            }
+            else if (tag instanceof TagArr) {
+                final TagArr tagArr = (TagArr) tag;
+                if (!access.isArray(node)) return depth;
+
+                // The size error of an array replaces the errors of its elements
+                final int size = access.size(node), index = parseIndex(tokens[depth]);
+                if (index < 0 || index >= size || !tagArr.hasValidSize(size)) return depth;
+
+                tag = tagArr.tagFromat;
+                node = access.get(node, index);
+            }
+            // All other tags check their element as a whole
+            else return depth;
+        }
+        return tokens.length;
+    }
+
+    /**
+     * Checks the subtree found by {@link #locate(Object, JsonAccess, String[])}. <br>
+     * The errors are reported with the full path of the subtree.
+     * @param json Root node of the changed document
+     * @param access Access to the nodes of the document
+     * @param tokens Reference tokens of a pointer starting with the pointer of the subtree
+     * @param depth Amount of tokens of the subtree's pointer
+     * @param errorBuilder Builder to report errors to
+     * @return whether the subtree is valid
+     */
+    public <N> boolean check(final @NotNull N json, final @NotNull JsonAccess<N> access, final @NotNull String[] tokens, int depth, final @NotNull CheckResult.Builder errorBuilder) {
+        if (depth == 0) return root.check(json, access, errorBuilder);
+
+        // Walks the path again, which locate already found to be valid
+        JsonTag tag = root;
+        N parent = json;
+        for (int i = 0; i < depth - 1; i++) {
+            tag = resolve(tag);
+            if (tag instanceof TagObj) {
+                tag = ((TagObj) tag).keyTagMap.get(tokens[i]);
+                parent = access.get(parent, tokens[i]);
+                errorBuilder.pushKey(tokens[i]);
+            } else {
+                final int index = parseIndex(tokens[i]);
+                tag = ((TagArr) tag).tagFromat;
+                parent = access.get(parent, index);
+                errorBuilder.pushIndex(index);
+            }
+        }
+
+        final String token = tokens[depth - 1];
+        tag = resolve(tag);
+        final boolean valid;
+        if (tag instanceof TagObj) {
+            errorBuilder.pushKey(token);
+            valid = TagObj.isValidEntry(access.get(parent, token), access, ((TagObj) tag).keyTagMap.get(token), errorBuilder);
+        } else {
+            final int index = parseIndex(token);
+            errorBuilder.pushIndex(index);
+            valid = ((TagArr) tag).tagFromat.check(access.get(parent, index), access, errorBuilder);
+        }
+
+        for (int i = 0; i < depth; i++) errorBuilder.pop();
+        return valid;
+    }
+
+    // The tag checking the element in place of groups and cached tags
+    private static JsonTag resolve(JsonTag tag) {
+        while (true) {
+            if (tag instanceof TagGroup) tag = ((TagGroup) tag).getGroupTag();
+            else if (tag instanceof TagShapeCached) tag = ((TagShapeCached) tag).getCompiledTag();
+            else return tag;
+        }
+    }
+
+    // Array indices are written without leading zeros
+    private static int parseIndex(String token) {
+        if (token.isEmpty() || token.length() > 9 || (token.length() > 1 && token.charAt(0) == '0')) return -1;
+        for (int i = 0; i < token.length(); i++)
+            if (token.charAt(i) < '0' || token.charAt(i) > '9') return -1;
+        return Integer.parseInt(token);
+    }
+}
@@ -1,10 +1,13 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
-import com.google.gson.JsonElement;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.google.gson.stream.JsonReader;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
 
 public class TagAny extends JsonTag {
     private TagAny(boolean optional) {
@@ -20,7 +23,28 @@ public class TagAny extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        return true;
+    }
+
+    @Override
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        reader.skipValue();
         return true;
     }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        reader.skipValue();
+        return true;
+    }
+
+    @Override
+    boolean isShapeOnly() {
+        return true;
+    }
+
+    // Every node is valid, so no shape has to be added
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) { }
 }
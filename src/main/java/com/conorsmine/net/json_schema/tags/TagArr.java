@@ -1,24 +1,38 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonIncorrectSizeError;
 import com.conorsmine.net.json_schema.errors.JsonMissingTagError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 public class TagArr extends JsonTag {
 
     final JsonTag tagFromat;
     final Long minSize, maxSize;
+    final int parallelThreshold;
+
+    // Several chunks per thread let idle threads take over the chunks of slower ones
+    private static final int CHUNKS_PER_THREAD = 4;
+    // Smaller chunks take longer to fork and merge than to check
+    static final int MIN_CHUNK_SIZE = 16;
 
-    private TagArr(boolean optional, JsonTag tagFromat, Long minSize, Long maxSize) {
+    private TagArr(boolean optional, JsonTag tagFromat, Long minSize, Long maxSize, int parallelThreshold) {
         super(TagType.ARR, optional);
         this.tagFromat = tagFromat;
         this.minSize = minSize;
         this.maxSize = maxSize;
+        this.parallelThreshold = parallelThreshold;
     }
 
 
@@ -26,9 +40,36 @@ public class TagArr extends JsonTag {
         return new Builder();
     }
 
+    boolean hasValidSize(long size) {
+        return (minSize == null || size >= minSize) && (maxSize == null || size <= maxSize);
+    }
+
+    @Override
+    boolean isShapeOnly() {
+        return tagFromat.isShapeOnly();
+    }
+
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        if (!access.isArray(node)) {
+            fingerprint.addType(node, access);
+            return;
+        }
+
+        final int size = access.size(node);
+        fingerprint.add(ShapeFingerprint.ARRAY);
+        fingerprint.add(size);
+        for (int i = 0; i < size; i++) {
+            final N element = access.get(node, i);
+            if (element == null) fingerprint.add(ShapeFingerprint.MISSING);
+            else tagFromat.addShape(element, access, fingerprint);
+        }
+    }
+
     public static class Builder implements TagBuilder<TagArr> {
         private JsonTag tagFromat = TagType.ANY.getTag();
         private Long minSize, maxSize;
+        private int parallelThreshold = 0;
         private boolean optional = false;
 
         private Builder() { }
@@ -91,52 +132,170 @@ public class TagArr extends JsonTag {
             return this;
         }
 
+        /**
+         * Checks the elements in parallel if the array has at least the given size. <br>
+         * The array is split into a few chunks per thread of the pool, each holding at least 16 elements.
+         * The errors are collected in the same order as in a serial check. Only applies to checks of a document tree, not to checks reading a stream.
+         * @param parallelThreshold Smallest array size checked in parallel, {@code 0} to use the threshold of the check
+         * @see com.conorsmine.net.json_schema.CheckOptions.Builder#setParallelThreshold(int)
+         */
+        public Builder setParallelThreshold(int parallelThreshold) {
+            if (parallelThreshold < 0) throw new UnsupportedOperationException("The parallelThreshold value must be >= 0!");
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
         public TagArr build() {
-            return new TagArr(optional, tagFromat, minSize, maxSize);
+            return new TagArr(optional, tagFromat, minSize, maxSize, parallelThreshold);
         }
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = (path == null) ? "" : path;
-
-        if (!tag.isJsonArray()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isArray(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
 
-        final int size = tag.getAsJsonArray().size();
+        final int size = access.size(tag);
         if (minSize != null && size < minSize) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooFew(path, minSize));
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooFew(path, minSize));
             return false;
         }
         if (maxSize != null && size > maxSize) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooMany(path, maxSize));
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooMany(path, maxSize));
             return false;
         }
 
+        final int threshold = (parallelThreshold > 0) ? parallelThreshold : errorBuilder.getParallelThreshold();
+        if (threshold > 0 && size >= threshold && size > MIN_CHUNK_SIZE) {
+            final ForkJoinPool pool = errorBuilder.getForkJoinPool();
+            final int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD));
+            final ElementRangeCheck<N> rangeCheck = new ElementRangeCheck<>(tag, access, 0, size, chunkSize, errorBuilder);
+            // Checks already running in the configured pool split the array in place, any other thread hands it over
+            return (ForkJoinTask.getPool() == pool) ? rangeCheck.invoke() : pool.invoke(rangeCheck);
+        }
+
+        return isValidRange(tag, access, 0, size, errorBuilder);
+    }
+
+    private <N> boolean isValidRange(N array, JsonAccess<N> access, int from, int to, CheckResult.Builder errorBuilder) {
         boolean valid = true;
-        int counter = 0;
-        for (JsonElement jsonElement : tag.getAsJsonArray()) {
-            final String newPath = path + "[" + counter++ + "]";
-            JsonTag arrTagFromat = tagFromat;
-
-            if (jsonElement == null) {
-                errorBuilder.addError(newPath, new JsonMissingTagError(newPath, arrTagFromat.getType()));
-                valid = false;
+        for (int i = from; i < to; i++) {
+            errorBuilder.pushIndex(i);
+            if (!isValidElement(access.get(array, i), access, errorBuilder)) valid = false;
+            errorBuilder.pop();
+
+            if (!valid && errorBuilder.isExhausted()) return false;
+        }
+
+        return valid;
+    }
+
+    private <N> boolean isValidElement(N jsonElement, JsonAccess<N> access, CheckResult.Builder errorBuilder) {
+        if (jsonElement == null) {
+            final TagType formatType = tagFromat.getType();
+            errorBuilder.addError((path) -> new JsonMissingTagError(path, formatType));
+            return false;
+        }
+
+        return tagFromat.check(jsonElement, access, errorBuilder);
+    }
+
+    @Override
+    JsonTag compile(SchemaCompiler compiler) {
+        return new TagArr(isOptional(), compiler.compile(tagFromat), minSize, maxSize, parallelThreshold);
+    }
+
+    /**
+     * Checks a range of the elements, splitting it in halves until the chunks are small enough.
+     * Every half reports to its own fork of the builder.
+     */
+    private final class ElementRangeCheck<N> extends RecursiveTask<Boolean> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final N array;
+        private final JsonAccess<N> access;
+        private final int from, to, chunkSize;
+        private final CheckResult.Builder errorBuilder;
+
+        private ElementRangeCheck(N array, JsonAccess<N> access, int from, int to, int chunkSize, CheckResult.Builder errorBuilder) {
+            this.array = array;
+            this.access = access;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.errorBuilder = errorBuilder;
+        }
+
+        @Override
+        protected Boolean compute() {
+            if (to - from <= chunkSize) return isValidRange(array, access, from, to, errorBuilder);
+
+            final int middle = (from + to) >>> 1;
+            final ElementRangeCheck<N> left = new ElementRangeCheck<>(array, access, from, middle, chunkSize, errorBuilder.fork());
+            final ElementRangeCheck<N> right = new ElementRangeCheck<>(array, access, middle, to, chunkSize, errorBuilder.fork());
+            invokeAll(left, right);
+
+            // Merging the left half first keeps the order of a serial check
+            errorBuilder.merge(left.errorBuilder).merge(right.errorBuilder);
+            return left.join() & right.join();
+        }
+    }
+
+    @Override
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) return super.isValid(reader, errorBuilder);
+        return isValidElements(reader, TokenAccess.GSON, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) return super.isValid(reader, errorBuilder);
+        return isValidElements(reader, TokenAccess.UTF8, errorBuilder);
+    }
+
+    private <R, X extends Exception> boolean isValidElements(R reader, TokenAccess<R, X> tokens, CheckResult.Builder errorBuilder) throws X {
+        // The size is only known once the array is read, so the element errors
+        // are held back until we know the size errors don't replace them.
+        final boolean sized = (minSize != null || maxSize != null);
+        final CheckResult.Builder elementBuilder = (sized) ? errorBuilder.fork() : errorBuilder;
+
+        boolean valid = true;
+        int size = 0;
+        tokens.beginArray(reader);
+        while (tokens.hasNext(reader)) {
+            if (maxSize != null && size >= maxSize) {
+                tokens.skipValue(reader);
+                size++;
                 continue;
             }
 
-            if (arrTagFromat.getType() == TagType.GROUP) {
-                final String groupName = ((TagGroup) tagFromat).getGroupName();
-                arrTagFromat = errorBuilder.getGroupMap().get(groupName);
-                if (arrTagFromat == null) throw new IllegalStateException("Group not found for key: " + groupName);
-            }
+            elementBuilder.pushIndex(size++);
+            if (!tokens.check(reader, tagFromat, elementBuilder)) valid = false;
+            elementBuilder.pop();
 
+            // The remaining elements are only counted, as a size error would replace the element errors
+            if (!valid && elementBuilder.isExhausted()) {
+                while (tokens.hasNext(reader)) {
+                    tokens.skipValue(reader);
+                    size++;
+                }
+            }
+        }
+        tokens.endArray(reader);
 
-            if (!arrTagFromat.isValid(jsonElement, errorBuilder, newPath)) valid = false;
+        if (minSize != null && size < minSize) {
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooFew(path, minSize));
+            return false;
+        }
+        if (maxSize != null && size > maxSize) {
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooMany(path, maxSize));
+            return false;
         }
 
+        if (sized) errorBuilder.merge(elementBuilder);
         return valid;
     }
 }
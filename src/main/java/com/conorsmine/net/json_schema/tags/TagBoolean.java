@@ -1,11 +1,11 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -17,10 +17,22 @@ public class TagBoolean extends JsonTag {
     final Set<String> validBools;
     final Set<String> invalidBools;
 
-    private TagBoolean(boolean optional, Set<String> validBools, Set<String> invalidBools) {
+    // All accepted strings, valid and invalid alike
+    private final CaseInsensitiveIndex boolIndex;
+    // Whether native JSON booleans are accepted
+    private final boolean acceptsTrue;
+    private final boolean acceptsFalse;
+
+    TagBoolean(boolean optional, Set<String> validBools, Set<String> invalidBools) {
         super(TagType.BOOL, optional);
-        this.validBools = Collections.unmodifiableSet(validBools);
-        this.invalidBools = Collections.unmodifiableSet(invalidBools);
+        this.validBools = Collections.unmodifiableSet(new HashSet<>(validBools));
+        this.invalidBools = Collections.unmodifiableSet(new HashSet<>(invalidBools));
+
+        final List<String> bools = new ArrayList<>(validBools);
+        bools.addAll(invalidBools);
+        this.boolIndex = new CaseInsensitiveIndex(bools.toArray(new String[0]));
+        this.acceptsTrue = boolIndex.contains("true");
+        this.acceptsFalse = boolIndex.contains("false");
     }
 
     public static Builder builder() {
@@ -128,17 +140,34 @@ public class TagBoolean extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = (path == null) ? "" : path;
-
-        if (!tag.isJsonPrimitive()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, TagType.BOOL, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isPrimitive(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, TagType.BOOL));
             return false;
         }
 
-        String bool = tag.getAsString();
-        if (!(validBools.contains(bool) || invalidBools.contains(bool))) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+        final boolean valid = access.isBoolean(tag)
+                ? (access.getAsBoolean(tag) ? acceptsTrue : acceptsFalse)
+                : boolIndex.contains(access.getAsString(tag));
+        return isValid(valid, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case BOOLEAN:
+                return isValid(reader.nextBoolean() ? acceptsTrue : acceptsFalse, errorBuilder);
+            case STRING:
+            case NUMBER:
+                return isValid(boolIndex.contains(reader.nextPrimitive()), errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
+        }
+    }
+
+    private boolean isValid(boolean valid, CheckResult.Builder errorBuilder) {
+        if (!valid) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
 
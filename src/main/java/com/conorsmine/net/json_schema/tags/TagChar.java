@@ -1,12 +1,12 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonIncorrectValueError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -15,7 +15,7 @@ import java.util.Set;
 
 public class TagChar extends JsonTag {
 
-    private final Set<Character> validChars;
+    final Set<Character> validChars;
 
     private TagChar(boolean optional, Set<Character> validChars) {
         super(TagType.CHAR, optional);
@@ -90,16 +90,31 @@ public class TagChar extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = path == null ? "" : path;
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        return isValidChar(access.isPrimitive(tag) ? access.getAsString(tag) : null, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                return isValidChar(reader.nextPrimitive(), errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
+        }
+    }
 
-        if (!tag.isJsonPrimitive() || tag.getAsString().length() != 1) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    private boolean isValidChar(CharSequence value, CheckResult.Builder errorBuilder) {
+        if (value == null || value.length() != 1) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
         if (validChars.isEmpty()) return true;
-        if (!validChars.contains(tag.getAsString().charAt(0))) {
-            errorBuilder.addError(path, new JsonIncorrectValueError(path, tag, type, validChars));
+        if (!validChars.contains(value.charAt(0))) {
+            final String constant = value.toString();
+            errorBuilder.addError((path) -> new JsonIncorrectValueError(path, constant, type, validChars));
             return false;
         }
 
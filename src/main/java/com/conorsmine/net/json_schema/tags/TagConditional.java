@@ -1,19 +1,22 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.ValidationListener;
+import com.conorsmine.net.json_schema.errors.ErrorCode;
 import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
-import com.conorsmine.net.json_schema.errors.JsonMissingTagError;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 public class TagConditional {
 
-    private final String referenceValue, destinationKey;
-    private final boolean required;
-    private final JsonTag tagFormat;
+    final String referenceValue, destinationKey;
+    final boolean required;
+    final JsonTag tagFormat;
 
     public TagConditional(String referenceValue, String destinationKey, boolean required, JsonTag tagFormat) {
         this.referenceValue = referenceValue;
@@ -50,67 +53,80 @@ public class TagConditional {
 
     static class SuperSecretTagConditionalCollection extends JsonTag {
 
-        private final String referenceKey;
-        private final TagConditional[] conditionals;
+        final String referenceKey;
+        final TagConditional[] conditionals;
+        // The conditionals of each reference value, found at the index of the value
+        private final CaseInsensitiveIndex referenceValueIndex;
+        private final TagConditional[][] conditionalsByValue;
 
         SuperSecretTagConditionalCollection(String referenceKey, TagConditional[] conditionals) {
             super(TagType.CONDITIONAL, false);
             this.referenceKey = referenceKey;
             this.conditionals = conditionals;
+            this.referenceValueIndex = new CaseInsensitiveIndex(Arrays.stream(conditionals).map((conditional) -> conditional.referenceValue).toArray(String[]::new));
+
+            final List<List<TagConditional>> groups = new ArrayList<>();
+            for (int i = 0; i < conditionals.length; i++) groups.add(new ArrayList<>());
+            for (TagConditional conditional : conditionals)
+                groups.get(referenceValueIndex.indexOf(conditional.referenceValue)).add(conditional);
+            this.conditionalsByValue = groups.stream().map((group) -> group.toArray(new TagConditional[0])).toArray(TagConditional[][]::new);
         }
 
         @Override
-        public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-            if (!tag.isJsonObject()) throw new IllegalStateException("The json tag is not a JsonObject! This should not happen! (Please report this as a bug)");
-            final JsonObject json = tag.getAsJsonObject();
+        public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+            if (!access.isObject(tag)) throw new IllegalStateException("The json tag is not a JsonObject! This should not happen! (Please report this as a bug)");
+
+            final N reference = access.get(tag, referenceKey);
+            if (reference == null || !access.isPrimitive(reference)) {
+                errorBuilder.pushKey(referenceKey);
+                errorBuilder.addError((path) -> new JsonFormatCheckError(ErrorCode.INVALID_REFERENCE, () -> "Reference key \"" + referenceKey + "\" is not a primitive type!"));
+                errorBuilder.pop();
+                return false;
+            }
 
-            for (TagConditional conditional : conditionals) {
-                if (!json.get(referenceKey).getAsString().equalsIgnoreCase(conditional.referenceValue)) continue;
+            final int valueIndex = referenceValueIndex.indexOf(access.getAsString(reference));
+            if (valueIndex < 0) return true;
 
-                return handleConditional(json, errorBuilder, path, conditional);
+            boolean valid = true;
+            for (TagConditional conditional : conditionalsByValue[valueIndex]) {
+                final ValidationListener listener = errorBuilder.getListener();
+                if (listener != null) listener.onConditionalTaken(referenceKey, conditional.referenceValue, errorBuilder);
+                if (handleConditional(tag, access, errorBuilder, conditional)) continue;
+
+                valid = false;
+                if (errorBuilder.isExhausted()) return false;
             }
 
-            return true;
+            return valid;
         }
 
-        private boolean handleConditional(JsonObject value, CheckResult.Builder builder, String path, TagConditional conditional) {
+        private <N> boolean handleConditional(N value, JsonAccess<N> access, CheckResult.Builder builder, TagConditional conditional) {
             final String destinationKey = conditional.destinationKey;
             final JsonTag tagFormat = conditional.tagFormat;
 
-            final Boolean result = doChecks(value, builder, path, conditional);
-            if (result != null) return result;
+            final N tag = access.get(value, destinationKey);
+            if (tag == null && !conditional.required) return true;
 
-            final JsonElement tag = value.get(destinationKey);
+            builder.pushKey(destinationKey);
+            final boolean valid;
             if (tag == null) {
-                final String destinationPath = (path == null) ? destinationKey : path + "." + destinationKey;
-                if (tagFormat.isOptional()) return true;
-                builder.addError(destinationPath, new JsonMissingTagError(destinationPath, tagFormat.getType()));
-                return false;
+                builder.addError((path) -> new JsonFormatCheckError(ErrorCode.MISSING_DESTINATION, () -> "Missing destination key \"" + destinationKey + "\" for conditionals!"));
+                valid = false;
             }
-
-            return conditional.tagFormat.isValid(tag, builder, path);
+            else valid = tagFormat.check(tag, access, builder);
+            builder.pop();
+            return valid;
         }
 
-        // Returns null if the code should continue, otherwise a return value
-        private Boolean doChecks(JsonObject value, CheckResult.Builder builder, String path, TagConditional conditional) {
-            if (!value.has(referenceKey)) {
-                if (conditional.tagFormat.isOptional()) return true;    // This is a bit weird
-                builder.addError(path, new JsonFormatCheckError("Missing reference key \"" + referenceKey + "\" for conditionals!"));
-                return false;
-            }
-
-            if (!value.get(referenceKey).isJsonPrimitive()) {
-                builder.addError(path, new JsonFormatCheckError("Reference key \"" + referenceKey + "\" is not a primitive type!"));
-                return false;
-            }
-
-            if (!value.has(conditional.destinationKey)) {
-                if (!conditional.required) return true;
-                builder.addError(path, new JsonFormatCheckError("Missing destination key \"" + conditional.destinationKey + "\" for conditionals!"));
-                return false;
+        @Override
+        JsonTag compile(SchemaCompiler compiler) {
+            final TagConditional[] compiledConditionals = new TagConditional[conditionals.length];
+            for (int i = 0; i < conditionals.length; i++) {
+                final TagConditional conditional = conditionals[i];
+                compiledConditionals[i] = new TagConditional(conditional.referenceValue, conditional.destinationKey, conditional.required, compiler.compile(conditional.tagFormat));
             }
 
-            return null;
+            return new SuperSecretTagConditionalCollection(referenceKey, compiledConditionals);
         }
     }
 
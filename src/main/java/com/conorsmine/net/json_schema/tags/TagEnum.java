@@ -1,22 +1,25 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.conorsmine.net.json_schema.errors.ErrorCode;
 import com.conorsmine.net.json_schema.errors.JsonFormatCheckError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 
 public class TagEnum extends JsonTag {
 
     final String[] enumConstants;
+    private final CaseInsensitiveIndex constantIndex;
 
     private TagEnum(boolean optional, String[] enumConstants) {
         super(TagType.ENUM, optional);
         this.enumConstants = enumConstants;
+        this.constantIndex = new CaseInsensitiveIndex(enumConstants);
     }
 
     public static Builder builder() {
@@ -79,18 +82,32 @@ public class TagEnum extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = path == null ? "" : path;
-
-        if (!tag.isJsonPrimitive()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isPrimitive(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
 
-        for (String constant : enumConstants)
-            if (constant.equalsIgnoreCase(tag.getAsString())) return true;
+        return isValidConstant(access.getAsString(tag), errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                return isValidConstant(reader.nextPrimitive(), errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
+        }
+    }
+
+    private boolean isValidConstant(CharSequence value, CheckResult.Builder errorBuilder) {
+        if (constantIndex.contains(value)) return true;
 
-        errorBuilder.addError(path, new JsonFormatCheckError(String.format("\"%s\" is not a valid enum constant!", tag.getAsString())));
+        final String constant = value.toString();
+        errorBuilder.addError((path) -> new JsonFormatCheckError(ErrorCode.INCORRECT_VALUE, () -> String.format("\"%s\" is not a valid enum constant!", constant)));
         return false;
     }
 }
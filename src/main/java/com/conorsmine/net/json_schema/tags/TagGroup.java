@@ -1,14 +1,20 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
-import com.google.gson.JsonElement;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.conorsmine.net.json_schema.ValidationListener;
+import com.google.gson.stream.JsonReader;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
 
 public class TagGroup extends JsonTag {
 
     private final String groupName;
+    // Set once the compiled form of the tag is linked to its group
+    private JsonTag groupTag;
 
     TagGroup(final String groupName, boolean optional) {
         super(TagType.GROUP, optional);
@@ -55,8 +61,42 @@ public class TagGroup extends JsonTag {
     }
 
     @Override
-    @Deprecated
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        throw new UnsupportedOperationException("#isValid should never be called for a TagGroup! Report this to the author!");
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        final JsonTag groupTag = getGroupTag();
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener != null) listener.onGroupResolved(groupName, errorBuilder);
+        return groupTag.isValid(tag, access, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        final JsonTag groupTag = getGroupTag();
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener != null) listener.onGroupResolved(groupName, errorBuilder);
+        return groupTag.isValid(reader, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        final JsonTag groupTag = getGroupTag();
+        final ValidationListener listener = errorBuilder.getListener();
+        if (listener != null) listener.onGroupResolved(groupName, errorBuilder);
+        return groupTag.isValid(reader, errorBuilder);
+    }
+
+    JsonTag getGroupTag() {
+        if (groupTag == null) throw new IllegalStateException("The group tag \"" + groupName + "\" was never linked! (Please report this as a bug)");
+        return groupTag;
+    }
+
+    @Override
+    JsonTag compile(SchemaCompiler compiler) {
+        final TagGroup compiled = new TagGroup(groupName, isOptional());
+        compiler.linkLater(compiled);
+        return compiled;
+    }
+
+    void link(JsonTag groupTag) {
+        this.groupTag = groupTag;
     }
 }
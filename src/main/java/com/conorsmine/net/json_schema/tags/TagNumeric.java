@@ -1,21 +1,47 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonIncorrectSizeError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.math.BigDecimal;
+
 public class TagNumeric<T extends Number> extends JsonTag {
 
-    private final T minValue, maxValue;
+    private static final String MAX_LONG_DIGITS = "9223372036854775807", MIN_LONG_DIGITS = "9223372036854775808";
+    // Powers of ten which are exact doubles
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    final T minValue, maxValue;
+    private final NumberRange range;
+    // Whether the number has to be written without fraction or exponent
+    private final boolean integer;
+    // 1 if the number must not be negative, -1 if it must not be positive, 0 otherwise
+    private final int sign;
 
     private TagNumeric(TagType type, T minValue, T maxValue, boolean optional) {
         super(type, optional);
         this.minValue = minValue;
         this.maxValue = maxValue;
+        this.range = NumberRange.of(minValue, maxValue);
+
+        switch (type) {
+            case U_INT: integer = true; sign = 1; break;
+            case INT: integer = true; sign = 0; break;
+            case S_INT: integer = true; sign = -1; break;
+            case U_FLT: integer = false; sign = 1; break;
+            case FLT: integer = false; sign = 0; break;
+            case S_FLT: integer = false; sign = -1; break;
+            default: throw new UnsupportedOperationException("This type is not supported! " + type);
+        }
     }
 
     public static <T extends Number> Builder<T> builder(final @NotNull TagType type) {
@@ -74,44 +100,171 @@ public class TagNumeric<T extends Number> extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = path == null ? "" : path;
-
-        if (!isNumberOfType(tag, type)) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isNumber(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
 
-        if (minValue == null && maxValue == null) return true;
-        if (minValue == null && !(tag.getAsNumber().doubleValue() <= maxValue.doubleValue())) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooMany(path, minValue));
-            return false;
-        }
-        if (maxValue == null && !(tag.getAsNumber().doubleValue() >= minValue.doubleValue())) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooFew(path, maxValue));
-            return false;
+        final Number number = access.getAsNumber(tag);
+        if (NumberRange.isIntegral(number)) return isValidLong(number.longValue(), errorBuilder);
+        if (NumberRange.isFloating(number)) return isValidDouble(number.doubleValue(), errorBuilder);
+
+        // Parsed numbers keep their lexeme, which tells integers and floats apart without parsing them
+        return isValidLexeme(number.toString(), errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case NUMBER:
+                return isValidLexeme(reader.nextPrimitive(), errorBuilder);
+            case STRING:
+            case BOOLEAN:
+                reader.skipValue();
+                return typeMissmatch(errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
         }
+    }
 
-        if (minValue == null || maxValue == null) return false;
-        if (!(tag.getAsNumber().doubleValue() >= minValue.doubleValue() && tag.getAsNumber().doubleValue() <= maxValue.doubleValue())) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getOutsideRange(path, minValue, maxValue));
-            return false;
+    // Only floats accept every number, integers and signed numbers depend on the value
+    @Override
+    boolean isShapeOnly() {
+        return !integer && sign == 0 && range == null;
+    }
+
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        fingerprint.addType(node, access);
+    }
+
+    private boolean isValidLexeme(CharSequence lexeme, CheckResult.Builder errorBuilder) {
+        if (!isIntegerLexeme(lexeme)) return isValidDouble(parseDouble(lexeme), errorBuilder);
+        if (fitsLong(lexeme)) return isValidLong(parseLong(lexeme), errorBuilder);
+        return isValidDecimal(new BigDecimal(lexeme.toString()), errorBuilder);
+    }
+
+    private boolean isValidLong(long value, CheckResult.Builder errorBuilder) {
+        if (!hasValidSign(Long.signum(value))) return typeMissmatch(errorBuilder);
+        return range == null || isInRange(range.locate(value), errorBuilder);
+    }
+
+    private boolean isValidDouble(double value, CheckResult.Builder errorBuilder) {
+        if (integer || !hasValidSign(value < 0 ? -1 : (value > 0 ? 1 : 0))) return typeMissmatch(errorBuilder);
+        return range == null || isInRange(range.locate(value), errorBuilder);
+    }
+
+    private boolean isValidDecimal(BigDecimal value, CheckResult.Builder errorBuilder) {
+        if (!hasValidSign(value.signum())) return typeMissmatch(errorBuilder);
+        return range == null || isInRange(range.locate(value), errorBuilder);
+    }
+
+    private boolean hasValidSign(int valueSign) {
+        return sign == 0 || valueSign == 0 || valueSign == sign;
+    }
+
+    private boolean typeMissmatch(CheckResult.Builder errorBuilder) {
+        errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
+        return false;
+    }
+
+    private boolean isInRange(int location, CheckResult.Builder errorBuilder) {
+        if (location == 0) return true;
+
+        if (minValue != null && maxValue != null) errorBuilder.addError((path) -> JsonIncorrectSizeError.getOutsideRange(path, minValue, maxValue));
+        else if (location < 0) errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooFew(path, minValue));
+        else errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooMany(path, maxValue));
+        return false;
+    }
+
+    private static boolean isIntegerLexeme(CharSequence lexeme) {
+        final int start = isNegative(lexeme) ? 1 : 0;
+        if (lexeme.length() == start) return false;
+
+        for (int i = start; i < lexeme.length(); i++) {
+            final char c = lexeme.charAt(i);
+            if (c < '0' || c > '9') return false;
         }
+        return true;
+    }
+
+    // Expects an integer lexeme without leading zeros, as JSON writes them
+    private static boolean fitsLong(CharSequence lexeme) {
+        final boolean negative = isNegative(lexeme);
+        final int start = negative ? 1 : 0;
+        final String limit = negative ? MIN_LONG_DIGITS : MAX_LONG_DIGITS;
 
+        final int digits = lexeme.length() - start;
+        if (digits != limit.length()) return digits < limit.length();
+
+        for (int i = 0; i < digits; i++) {
+            final char c = lexeme.charAt(start + i), limitChar = limit.charAt(i);
+            if (c != limitChar) return c < limitChar;
+        }
         return true;
     }
 
-    private static boolean isNumberOfType(final JsonElement tag, final TagType type) {
-        if (!tag.isJsonPrimitive() || !tag.getAsJsonPrimitive().isNumber()) return false;
-        final Number num = tag.getAsNumber();
-        switch (type) {
-            case U_INT: return num.longValue() >= 0;
-            case INT: return num instanceof Long;
-            case S_INT: return num.longValue() <= 0;
-            case U_FLT: return num.doubleValue() >= 0;
-            case FLT: return num instanceof Double;
-            case S_FLT: return num.doubleValue() <= 0;
-            default: throw new UnsupportedOperationException("This type is not supported! " + type);    // This should never happen
+    private static boolean isNegative(CharSequence lexeme) {
+        return lexeme.length() > 0 && lexeme.charAt(0) == '-';
+    }
+
+    // Expects an integer lexeme which fits a long
+    private static long parseLong(CharSequence lexeme) {
+        final boolean negative = isNegative(lexeme);
+        // Accumulated negatively, as Long.MIN_VALUE has no positive counterpart
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < lexeme.length(); i++) value = value * 10 - (lexeme.charAt(i) - '0');
+        return negative ? value : -value;
+    }
+
+    /**
+     * Parses a JSON number lexeme. <br>
+     * Numbers of at most 15 significant digits and a small exponent are exact doubles multiplied or divided
+     * by an exact power of ten, which is correctly rounded without any further work.
+     * All other numbers are left to {@link Double#parseDouble(String)}.
+     */
+    private static double parseDouble(CharSequence lexeme) {
+        final int length = lexeme.length();
+        final boolean negative = isNegative(lexeme);
+        int i = negative ? 1 : 0;
+
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean fraction = false;
+        for (; i < length; i++) {
+            final char c = lexeme.charAt(i);
+            if (c == '.') {
+                fraction = true;
+                continue;
+            }
+            if (c < '0' || c > '9') break;
+
+            if (mantissa != 0 || c != '0') {
+                if (++digits > 15) return Double.parseDouble(lexeme.toString());
+                mantissa = mantissa * 10 + (c - '0');
+            }
+            if (fraction) exponent--;
+        }
+
+        if (i < length) {
+            // The lexeme holds an exponent, 'e' or 'E' followed by an optional sign
+            i++;
+            final boolean negativeExponent = lexeme.charAt(i) == '-';
+            if (negativeExponent || lexeme.charAt(i) == '+') i++;
+            int explicit = 0;
+            for (; i < length; i++) {
+                explicit = explicit * 10 + (lexeme.charAt(i) - '0');
+                if (explicit > 1000) return Double.parseDouble(lexeme.toString());
+            }
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+
+        double value = mantissa;
+        if (mantissa != 0 && exponent != 0) {
+            if (exponent < -22 || exponent > 22) return Double.parseDouble(lexeme.toString());
+            value = (exponent > 0) ? value * POWERS_OF_TEN[exponent] : value / POWERS_OF_TEN[-exponent];
         }
+        return negative ? -value : value;
     }
 }
@@ -1,25 +1,54 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonMissingTagError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public class TagObj extends JsonTag {
 
-    private final Map<String, JsonTag> keyTagMap;
+    final Map<String, JsonTag> keyTagMap;
+
+    // Flat copies of the map split by kind, iterating them does not allocate
+    private final String[] keys;
+    private final JsonTag[] tags;
+    private final String[] conditionalKeys;
+    private final TagConditional.SuperSecretTagConditionalCollection[] conditionals;
+    // The keys encoded as UTF-8, looked up by the bytes of a name
+    final Utf8JsonReader.KeyIndex keyIndex;
+    // The position of each key in the flat copies, looked up while iterating an object
+    final Map<String, Integer> keyPositions = new HashMap<>();
 
     private TagObj(Map<String, JsonTag> keyTagMap, boolean optional) {
         super(TagType.OBJ, optional);
         this.keyTagMap = Collections.unmodifiableMap(keyTagMap);
+
+        final List<String> keys = new ArrayList<>(), conditionalKeys = new ArrayList<>();
+        for (Map.Entry<String, JsonTag> entry : keyTagMap.entrySet()) {
+            if (entry.getValue().getType() == TagType.CONDITIONAL) conditionalKeys.add(entry.getKey());
+            else keys.add(entry.getKey());
+        }
+
+        this.keys = keys.toArray(new String[0]);
+        this.tags = keys.stream().map(keyTagMap::get).toArray(JsonTag[]::new);
+        this.conditionalKeys = conditionalKeys.toArray(new String[0]);
+        this.conditionals = conditionalKeys.stream().map(keyTagMap::get).toArray(TagConditional.SuperSecretTagConditionalCollection[]::new);
+        this.keyIndex = new Utf8JsonReader.KeyIndex(this.keys);
+        for (int i = 0; i < this.keys.length; i++) keyPositions.put(this.keys[i], i);
     }
 
     public static Builder builder() {
@@ -76,46 +105,166 @@ public class TagObj extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        final boolean isFirst = (path == null);
-        path = (isFirst) ? "" : path;
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isObject(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
+            return false;
+        }
 
-        if (!tag.isJsonObject()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+        boolean valid = true;
+        for (int i = 0; i < keys.length; i++) {
+            errorBuilder.pushKey(keys[i]);
+            if (!isValidEntry(access.get(tag, keys[i]), access, tags[i], errorBuilder)) valid = false;
+            errorBuilder.pop();
+
+            if (!valid && errorBuilder.isExhausted()) return false;
+        }
+
+        // Conditionals check the object holding their reference key and report their errors at the keys they read
+        for (int i = 0; i < conditionals.length; i++) {
+            if (access.get(tag, conditionalKeys[i]) != null) {
+                if (!conditionals[i].check(tag, access, errorBuilder)) valid = false;
+            } else {
+                errorBuilder.pushKey(conditionalKeys[i]);
+                if (!isValidEntry(null, access, conditionals[i], errorBuilder)) valid = false;
+                errorBuilder.pop();
+            }
+
+            if (!valid && errorBuilder.isExhausted()) return false;
+        }
+
+        return valid;
+    }
+
+    static <N> boolean isValidEntry(N tagElement, JsonAccess<N> access, JsonTag tagObj, CheckResult.Builder errorBuilder) {
+        if (tagElement == null && !tagObj.isOptional()) {
+            final TagType tagType = tagObj.getType();
+            errorBuilder.addError((path) -> new JsonMissingTagError(path, tagType));
             return false;
         }
+        else if (tagElement == null) return true;
+
+        return tagObj.check(tagElement, access, errorBuilder);
+    }
+
+    @Override
+    boolean isShapeOnly() {
+        if (conditionals.length > 0) return false;
+        for (JsonTag tag : tags)
+            if (!tag.isShapeOnly()) return false;
+        return true;
+    }
+
+    // Keys which are not part of the schema are not checked, so they are not part of the shape either.
+    // Iterating the object is a lot cheaper than looking up every key, the keys are added in the order of the JSON then
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        if (!access.isObject(node)) {
+            fingerprint.addType(node, access);
+            return;
+        }
+
+        fingerprint.add(ShapeFingerprint.OBJECT);
+        final Iterable<Map.Entry<String, N>> entries = access.entries(node);
+        if (entries != null) {
+            for (Map.Entry<String, N> entry : entries) {
+                final Integer position = keyPositions.get(entry.getKey());
+                if (position == null) continue;
+
+                fingerprint.addKey(position);
+                tags[position].addShape(entry.getValue(), access, fingerprint);
+            }
+        }
+        else for (int i = 0; i < keys.length; i++) {
+            final N value = access.get(node, keys[i]);
+            if (value == null) continue;
+
+            fingerprint.addKey(i);
+            tags[i].addShape(value, access, fingerprint);
+        }
+        fingerprint.add(ShapeFingerprint.END);
+    }
+
+    /**
+     * Whether a conditional of this object reads the key, either as its reference or as its destination.
+     */
+    boolean isConditionalKey(String key) {
+        for (int i = 0; i < conditionals.length; i++) {
+            if (conditionalKeys[i].equals(key)) return true;
+            for (TagConditional conditional : conditionals[i].conditionals)
+                if (conditional.destinationKey.equals(key)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    JsonTag compile(SchemaCompiler compiler) {
+        final Map<String, JsonTag> compiledTagMap = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonTag> entry : keyTagMap.entrySet())
+            compiledTagMap.put(entry.getKey(), compiler.compile(entry.getValue()));
+
+        return new TagObj(compiledTagMap, isOptional());
+    }
+
+    @Override
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) return super.isValid(reader, errorBuilder);
+
+        // Conditionals may reference keys appearing after their destination,
+        // so objects holding them are read into memory and checked as a tree.
+        if (conditionals.length > 0) return isValid(JsonParser.parseReader(reader), errorBuilder);
+        return isValidEntries(reader, TokenAccess.GSON, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) return super.isValid(reader, errorBuilder);
+        if (conditionals.length > 0) return isValid(reader.readTree(), errorBuilder);
+        return isValidEntries(reader, TokenAccess.UTF8, errorBuilder);
+    }
+
+    private <R, X extends Exception> boolean isValidEntries(R reader, TokenAccess<R, X> tokens, CheckResult.Builder errorBuilder) throws X {
+        // Found keys are tracked by their position, in a mask for the usual amount of keys
+        final boolean[] foundKeys = (keys.length > 64) ? new boolean[keys.length] : null;
+        long foundMask = 0;
 
         boolean valid = true;
-        for (Map.Entry<String, JsonTag> entry : keyTagMap.entrySet()) {
-            final String key = entry.getKey();
-            final String keyPath = String.format("%s%s%s", path, (isFirst) ? "" : ".", key);
-            JsonTag tagObj = entry.getValue();
-            final JsonElement tagElement = tag.getAsJsonObject().get(key);
-
-            if (tagElement == null && !tagObj.isOptional()) {
-                errorBuilder.addError(keyPath, new JsonMissingTagError(keyPath, tagObj.getType()));
-                valid = false;
+        tokens.beginObject(reader);
+        while (tokens.hasNext(reader)) {
+            final int position = tokens.nextKeyPosition(reader, this);
+            if (position < 0) {
+                tokens.skipValue(reader);
                 continue;
             }
-            else if (tagElement == null) continue;
-
-            // Handle groups
-            // Sets the tagObj to the group tag if the tagObj is a group
-            if (tagObj.getType() == TagType.GROUP) {
-                final String groupName = ((TagGroup) tagObj).getGroupName();
-                tagObj = errorBuilder.getGroupMap().get(groupName);
-                if (tagObj == null) throw new IllegalStateException("Group not found for key: " + groupName);
-            }
+            if (foundKeys != null) foundKeys[position] = true;
+            else foundMask |= 1L << position;
+
+            errorBuilder.pushKey(keys[position]);
+            if (!tokens.check(reader, tags[position], errorBuilder)) valid = false;
+            errorBuilder.pop();
 
-            // Handle conditionals
-            if (tagObj.getType() == TagType.CONDITIONAL) {
-                final TagConditional.SuperSecretTagConditionalCollection conditionalCollection = (TagConditional.SuperSecretTagConditionalCollection) tagObj;
-                if (conditionalCollection.isValid(((JsonObject) tag), errorBuilder, keyPath)) continue;
-                valid = false;
+            if (!valid && errorBuilder.isExhausted()) {
+                while (tokens.hasNext(reader)) {
+                    tokens.nextKeyPosition(reader, this);
+                    tokens.skipValue(reader);
+                }
+                tokens.endObject(reader);
+                return false;
             }
+        }
+        tokens.endObject(reader);
+
+        for (int i = 0; i < keys.length; i++) {
+            final boolean found = (foundKeys != null) ? foundKeys[i] : (foundMask & (1L << i)) != 0;
+            if (found || tags[i].isOptional()) continue;
+
+            final TagType tagType = tags[i].getType();
+            errorBuilder.pushKey(keys[i]);
+            errorBuilder.addError((path) -> new JsonMissingTagError(path, tagType));
+            errorBuilder.pop();
+            valid = false;
 
-            // Handle other tags
-            else if (!tagObj.isValid(tagElement, errorBuilder, keyPath)) valid = false;
+            if (errorBuilder.isExhausted()) return false;
         }
 
         return valid;
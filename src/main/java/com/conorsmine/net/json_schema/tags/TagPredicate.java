@@ -1,13 +1,22 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 public interface TagPredicate {
 
-    boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path);
+    /**
+     * Checks a node of a document of any JSON library.
+     * @param tag Node to check
+     * @param access Access to the nodes of the library
+     * @param errorBuilder Builder to report errors to
+     */
+    <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder);
 
-}
+    default boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder) {
+        return isValid(tag, JsonAccess.gson(), errorBuilder);
+    }
 
+}
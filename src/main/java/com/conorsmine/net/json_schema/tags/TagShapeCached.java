@@ -0,0 +1,65 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
+import com.conorsmine.net.json_schema.ShapeCache;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.google.gson.stream.JsonReader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Looks up the verdict of a subtree by its shape before checking it. <br>
+ * Wraps the outermost compiled tags which only check the shape of their subtree.
+ * Readers are checked by the wrapped tag directly, as the shape is only known once the subtree was read.
+ * @see ShapeCache
+ */
+final class TagShapeCached extends JsonTag {
+
+    private final JsonTag compiledTag;
+    private final ShapeCache shapeCache;
+
+    TagShapeCached(JsonTag compiledTag, ShapeCache shapeCache) {
+        super(compiledTag.getType(), compiledTag.isOptional());
+        this.compiledTag = compiledTag;
+        this.shapeCache = shapeCache;
+    }
+
+    JsonTag getCompiledTag() {
+        return compiledTag;
+    }
+
+    @Override
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        final ShapeFingerprint fingerprint = new ShapeFingerprint();
+        compiledTag.addShape(tag, access, fingerprint);
+
+        final Boolean verdict = shapeCache.getVerdict(this, fingerprint.high, fingerprint.low);
+        if (verdict != null) {
+            // Invalid subtrees are checked again to collect their errors, unless no more errors are collected
+            if (verdict) return true;
+            if (errorBuilder.isExhausted()) return false;
+        }
+
+        final boolean valid = compiledTag.isValid(tag, access, errorBuilder);
+        // An invalid verdict can't skip checks collecting errors, so only the checks it can skip cache it
+        if (verdict == null && (valid || errorBuilder.isExhausted())) shapeCache.putVerdict(this, fingerprint.high, fingerprint.low, valid);
+        return valid;
+    }
+
+    @Override
+    public boolean isValid(@NotNull JsonReader reader, @NotNull CheckResult.Builder errorBuilder) throws IOException {
+        return compiledTag.isValid(reader, errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        return compiledTag.isValid(reader, errorBuilder);
+    }
+
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        compiledTag.addShape(node, access, fingerprint);
+    }
+}
@@ -1,12 +1,12 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonIncorrectSizeError;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 public class TagString extends JsonTag {
 
@@ -90,25 +90,51 @@ public class TagString extends JsonTag {
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = path == null ? "" : path;
-
-        if (!tag.isJsonPrimitive()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isPrimitive(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
         if (minLen == null && maxLen == null) return true;
 
-        if (minLen == null && !(tag.getAsString().length() <= maxLen)) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooMany(path, minLen));
+        return isValidLength(access.getAsString(tag).length(), errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                // The string is only measured, never decoded
+                final int length = reader.nextPrimitiveLength();
+                return (minLen == null && maxLen == null) || isValidLength(length, errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
+        }
+    }
+
+    @Override
+    boolean isShapeOnly() {
+        return minLen == null && maxLen == null;
+    }
+
+    @Override
+    <N> void addShape(N node, JsonAccess<N> access, ShapeFingerprint fingerprint) {
+        fingerprint.addType(node, access);
+    }
+
+    private boolean isValidLength(int length, CheckResult.Builder errorBuilder) {
+        if (minLen == null && !(length <= maxLen)) {
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooMany(path, minLen));
             return false;
         }
-        if (maxLen == null && !(tag.getAsString().length() >= minLen)) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getTooFew(path, maxLen));
+        if (maxLen == null && !(length >= minLen)) {
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getTooFew(path, maxLen));
             return false;
         }
-        if (!(tag.getAsString().length() >= minLen && tag.getAsString().length() <= maxLen)) {
-            errorBuilder.addError(path, JsonIncorrectSizeError.getIncorrectSize(path, minLen));
+        if (!(length >= minLen && length <= maxLen)) {
+            errorBuilder.addError((path) -> JsonIncorrectSizeError.getIncorrectSize(path, minLen));
             return false;
         }
 
@@ -1,22 +1,31 @@
 package com.conorsmine.net.json_schema.tags;
 
 import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonAccess;
 import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
 import com.conorsmine.net.json_schema.errors.JsonTypeMissmatchError;
-import com.google.gson.JsonElement;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 public class TagUUID extends JsonTag {
 
-    private TagUUID(boolean optional) { super(TagType.UUID, optional); }
+    // Maximal amount of hex digits of each group of a UUID
+    private static final int[] GROUP_LENGTHS = { 8, 4, 4, 4, 12 };
+    private static final int CANONICAL_LENGTH = 36;
+
+    final boolean lenient;
+
+    private TagUUID(boolean optional, boolean lenient) {
+        super(TagType.UUID, optional);
+        this.lenient = lenient;
+    }
 
     public static Builder builder() {
         return new Builder();
     }
 
     public static TagUUID create(boolean optional) {
-        return new TagUUID(optional);
+        return new TagUUID(optional, false);
     }
 
     public static TagUUID create() {
@@ -24,10 +33,10 @@ public class TagUUID extends JsonTag {
     }
 
 
-    // Just here for consistency
     public static class Builder {
 
         private boolean optional = false;
+        private boolean lenient = false;
 
         private Builder() { }
 
@@ -41,27 +50,82 @@ public class TagUUID extends JsonTag {
             return this;
         }
 
+        /**
+         * Whether UUIDs with shortened groups, like {@code "1-2-3-4-5"}, are accepted. <br>
+         * By default only the canonical form with 8-4-4-4-12 hex digits is accepted.
+         */
+        public Builder setLenient(boolean lenient) {
+            this.lenient = lenient;
+            return this;
+        }
+
+        public Builder setLenient() {
+            this.lenient = true;
+            return this;
+        }
+
         public TagUUID build() {
-            return new TagUUID(optional);
+            return new TagUUID(optional, lenient);
         }
     }
 
     @Override
-    public boolean isValid(@NotNull JsonElement tag, @NotNull CheckResult.Builder errorBuilder, @Nullable String path) {
-        path = path == null ? "" : path;
-
-        if (!tag.isJsonPrimitive()) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
+    public <N> boolean isValid(@NotNull N tag, @NotNull JsonAccess<N> access, @NotNull CheckResult.Builder errorBuilder) {
+        if (!access.isPrimitive(tag)) {
+            errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
             return false;
         }
 
-        try {
-            //noinspection ResultOfMethodCallIgnored
-            java.util.UUID.fromString(tag.getAsString());
-            return true;
-        } catch (IllegalArgumentException e) {
-            errorBuilder.addError(path, new JsonTypeMissmatchError(path, type, tag));
-            return false;
+        return isValidUUID(access.getAsString(tag), errorBuilder);
+    }
+
+    @Override
+    public boolean isValid(@NotNull Utf8JsonReader reader, @NotNull CheckResult.Builder errorBuilder) {
+        switch (reader.peek()) {
+            case STRING:
+            case NUMBER:
+            case BOOLEAN:
+                return isValidUUID(reader.nextPrimitive(), errorBuilder);
+            default:
+                return super.isValid(reader, errorBuilder);
         }
     }
+
+    private boolean isValidUUID(CharSequence uuid, CheckResult.Builder errorBuilder) {
+        if (lenient ? isLenientUUID(uuid) : isCanonicalUUID(uuid)) return true;
+
+        errorBuilder.addError((path) -> new JsonTypeMissmatchError(path, type));
+        return false;
+    }
+
+    private static boolean isCanonicalUUID(CharSequence uuid) {
+        if (uuid.length() != CANONICAL_LENGTH) return false;
+
+        for (int i = 0; i < CANONICAL_LENGTH; i++) {
+            final char c = uuid.charAt(i);
+            final boolean valid = (i == 8 || i == 13 || i == 18 || i == 23) ? c == '-' : isHexDigit(c);
+            if (!valid) return false;
+        }
+        return true;
+    }
+
+    // Five groups of hex digits separated by '-', each group at most as long as in the canonical form
+    private static boolean isLenientUUID(CharSequence uuid) {
+        int group = 0, groupLength = 0;
+        for (int i = 0; i < uuid.length(); i++) {
+            final char c = uuid.charAt(i);
+            if (c == '-') {
+                if (groupLength == 0 || ++group == GROUP_LENGTHS.length) return false;
+                groupLength = 0;
+                continue;
+            }
+
+            if (!isHexDigit(c) || ++groupLength > GROUP_LENGTHS[group]) return false;
+        }
+        return group == GROUP_LENGTHS.length - 1 && groupLength > 0;
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
 }
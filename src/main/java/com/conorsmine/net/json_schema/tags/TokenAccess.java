@@ -0,0 +1,122 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.Utf8JsonReader;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+
+/**
+ * Reads the tokens of a streamed JSON, so objects and arrays walk Gson's {@link JsonReader}
+ * and the {@link Utf8JsonReader} the same way. Like {@link com.conorsmine.net.json_schema.JsonAccess}
+ * an access holds no state, the reader is passed to every call.
+ * @param <R> Type of the reader
+ * @param <X> Exception thrown by the reader
+ */
+interface TokenAccess<R, X extends Exception> {
+
+    TokenAccess<JsonReader, IOException> GSON = new TokenAccess<JsonReader, IOException>() {
+        @Override
+        public void beginObject(JsonReader reader) throws IOException {
+            reader.beginObject();
+        }
+
+        @Override
+        public void endObject(JsonReader reader) throws IOException {
+            reader.endObject();
+        }
+
+        @Override
+        public void beginArray(JsonReader reader) throws IOException {
+            reader.beginArray();
+        }
+
+        @Override
+        public void endArray(JsonReader reader) throws IOException {
+            reader.endArray();
+        }
+
+        @Override
+        public boolean hasNext(JsonReader reader) throws IOException {
+            return reader.hasNext();
+        }
+
+        @Override
+        public int nextKeyPosition(JsonReader reader, TagObj obj) throws IOException {
+            final Integer position = obj.keyPositions.get(reader.nextName());
+            return (position != null) ? position : -1;
+        }
+
+        @Override
+        public void skipValue(JsonReader reader) throws IOException {
+            reader.skipValue();
+        }
+
+        @Override
+        public boolean check(JsonReader reader, JsonTag tag, CheckResult.Builder errorBuilder) throws IOException {
+            return tag.check(reader, errorBuilder);
+        }
+    };
+
+    TokenAccess<Utf8JsonReader, RuntimeException> UTF8 = new TokenAccess<Utf8JsonReader, RuntimeException>() {
+        @Override
+        public void beginObject(Utf8JsonReader reader) {
+            reader.beginObject();
+        }
+
+        @Override
+        public void endObject(Utf8JsonReader reader) {
+            reader.endObject();
+        }
+
+        @Override
+        public void beginArray(Utf8JsonReader reader) {
+            reader.beginArray();
+        }
+
+        @Override
+        public void endArray(Utf8JsonReader reader) {
+            reader.endArray();
+        }
+
+        @Override
+        public boolean hasNext(Utf8JsonReader reader) {
+            return reader.hasNext();
+        }
+
+        @Override
+        public int nextKeyPosition(Utf8JsonReader reader, TagObj obj) {
+            return reader.nextNameIndex(obj.keyIndex);
+        }
+
+        @Override
+        public void skipValue(Utf8JsonReader reader) {
+            reader.skipValue();
+        }
+
+        @Override
+        public boolean check(Utf8JsonReader reader, JsonTag tag, CheckResult.Builder errorBuilder) {
+            return tag.check(reader, errorBuilder);
+        }
+    };
+
+    void beginObject(R reader) throws X;
+
+    void endObject(R reader) throws X;
+
+    void beginArray(R reader) throws X;
+
+    void endArray(R reader) throws X;
+
+    boolean hasNext(R reader) throws X;
+
+    /**
+     * Reads the next name of an object.
+     * @return the position of the name in the keys of the object, or {@code -1} if the schema doesn't check it
+     */
+    int nextKeyPosition(R reader, TagObj obj) throws X;
+
+    void skipValue(R reader) throws X;
+
+    boolean check(R reader, JsonTag tag, CheckResult.Builder errorBuilder) throws X;
+}
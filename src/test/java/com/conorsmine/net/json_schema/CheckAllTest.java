@@ -0,0 +1,73 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.tags.JsonTag;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckAllTest {
+
+    private final JsonSchema schema = JsonSchemaBuilder.createSchema(TagObj.builder()
+            .setKeyAs("a", TagType.INT)
+            .setKeyAs("b", TagType.INT));
+
+    @Test
+    void nestedCheckOnTheSameThreadKeepsTheOuterErrors() {
+        final JsonElement invalid = JsonParser.parseString("{\"a\":\"x\",\"b\":\"y\"}");
+        final JsonElement missing = JsonParser.parseString("{\"a\":1}");
+
+        // A pool of one thread runs the nested batch on the thread of the outer check, while its builder is in use
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            final CheckOptions[] options = new CheckOptions[1];
+            final CheckResult[] nested = new CheckResult[1];
+            final boolean[] entered = new boolean[1];
+            options[0] = CheckOptions.builder()
+                    .setForkJoinPool(pool)
+                    .setListener(new ValidationListener() {
+                        @Override
+                        public void onEnterTag(JsonTag tag, CheckResult.Builder check) {
+                            if (!entered[0] && tag.getType() == TagType.INT) {
+                                entered[0] = true;
+                                nested[0] = schema.checkAll(Collections.singletonList(missing).stream(), options[0]).get(0);
+                            }
+                        }
+                    })
+                    .build();
+
+            final List<CheckResult> results = schema.checkAll(Collections.singletonList(invalid).stream(), options[0]);
+            assertEquals(describe(schema.check(invalid)), describe(results.get(0)));
+            assertEquals(describe(schema.check(missing)), describe(nested[0]));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void resultsKeepTheOrderOfTheStream() {
+        final JsonElement valid = JsonParser.parseString("{\"a\":1,\"b\":2}");
+        final JsonElement invalid = JsonParser.parseString("{\"a\":1}");
+
+        final List<CheckResult> results = schema.checkAll(Stream.of(valid, invalid, valid));
+        assertTrue(results.get(0).isValid());
+        assertFalse(results.get(1).isValid());
+        assertTrue(results.get(2).isValid());
+    }
+
+    private static List<String> describe(CheckResult result) {
+        return result.getErrors().stream()
+                .map((error) -> error.getPointer() + " " + error.getError().getCode() + " " + error.getError().getMessage())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,86 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.ErrorCode;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.conorsmine.net.json_schema.tags.TagString;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckLinesTest {
+
+    private final JsonSchema schema = JsonSchemaBuilder.createSchema(TagObj.builder()
+            .setKeyAs("name", TagString.builder().setLenRange(1, 3).build()));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void linesAreReportedInOrder() throws IOException {
+        final Path file = write(
+                utf8("{\"name\":\"ab\"}\n"),
+                utf8("{\"name\":\"abcd\"}\r\n"),
+                utf8("  \n"),
+                utf8("{\"name\":\"\u00e9\u00e8\"}\n"),
+                utf8("{\"name\":}\n"),
+                utf8("{\"name\":\"\ud83d\ude00\"}"));
+
+        assertEquals(Arrays.asList(
+                "1 valid",
+                "2 /name " + ErrorCode.INCORRECT_SIZE,
+                "4 valid",
+                "5 " + ErrorCode.MALFORMED_JSON,
+                "6 valid"
+        ), describe(schema.checkLines(file)));
+    }
+
+    @Test
+    void malformedUtf8IsReportedAsMalformedJson() throws IOException {
+        final Path file = write(
+                utf8("{\"name\":\"a"), new byte[] { (byte) 0xC3, '(' }, utf8("\"}\n"),            // Truncated sequence
+                utf8("{\"name\":\"a"), new byte[] { (byte) 0xED, (byte) 0xA0, (byte) 0x80 }, utf8("\"}\n"), // Encoded surrogate
+                utf8("{\"name\":\"a"), new byte[] { (byte) 0xFF }, utf8("\"}\n"),                 // Invalid byte
+                utf8("{\"name\":\"ab\"}\n"));
+
+        final List<LineCheckResult> results = schema.checkLines(file);
+        assertEquals(Arrays.asList(
+                "1 " + ErrorCode.MALFORMED_JSON,
+                "2 " + ErrorCode.MALFORMED_JSON,
+                "3 " + ErrorCode.MALFORMED_JSON,
+                "4 valid"
+        ), describe(results));
+        assertTrue(results.get(0).getResult().getErrors().get(0).getMessage().contains("UTF-8"));
+    }
+
+    private Path write(byte[]... parts) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) out.write(part);
+
+        final Path file = directory.resolve("lines.jsonl");
+        Files.write(file, out.toByteArray());
+        return file;
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> describe(List<LineCheckResult> results) {
+        return results.stream()
+                .map((line) -> line.getLineNumber() + " " + (line.isValid() ? "valid" : line.getResult().getErrors().stream()
+                        .map((error) -> (error.getPointer().isEmpty() ? "" : error.getPointer() + " ") + error.getCode())
+                        .collect(Collectors.joining(", "))))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,73 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagEnum;
+import com.conorsmine.net.json_schema.tags.TagGroup;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.conorsmine.net.json_schema.tags.TagString;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Asserts that {@link JsonSchema#isValid(com.google.gson.JsonElement)} doesn't allocate while checking a valid JSON.
+ */
+class IsValidAllocationTest {
+
+    private static final int WARMUP_CALLS = 200_000;
+    private static final int MEASURED_CALLS = 100_000;
+
+    @Test
+    void isValidDoesNotAllocate() {
+        final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean, "The JVM can't count the bytes allocated by a thread");
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled(), "The JVM can't count the bytes allocated by a thread");
+
+        final JsonSchema schema = JsonSchemaBuilder.builder(TagObj.builder()
+                        .setKeyAs("name", TagType.STR)
+                        .setKeyAs("count", TagType.U_INT)
+                        .setKeyAs("flag", TagType.BOOL)
+                        .setKeyAs("kind", TagEnum.create(TagType.class))
+                        .setKeyAs("items", TagArr.builder().setTagFormat(TagGroup.create("item")).build()))
+                .addGroup("item", TagObj.builder()
+                        .setKeyAs("x", TagType.INT)
+                        .setKeyAs("s", TagString.builder().setLenRange(0, 10).build())
+                        .build())
+                .build();
+
+        final JsonObject json = new JsonObject();
+        json.addProperty("name", "weapon");
+        json.addProperty("count", 3);
+        json.addProperty("flag", true);
+        json.addProperty("kind", "obj");
+        final JsonArray items = new JsonArray();
+        for (int i = 0; i < 4; i++) {
+            final JsonObject item = new JsonObject();
+            item.addProperty("x", i);
+            item.addProperty("s", "item_" + i);
+            items.add(item);
+        }
+        json.add("items", items);
+
+        // Warming up lets the JIT compile the check, so its temporary objects are removed
+        boolean valid = true;
+        for (int i = 0; i < WARMUP_CALLS; i++) valid &= schema.isValid(json);
+        assertTrue(valid, "The checked JSON must be valid");
+
+        final long threadId = Thread.currentThread().getId();
+        final long allocatedBefore = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) valid &= schema.isValid(json);
+        final long allocated = allocationBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertTrue(valid, "The checked JSON must be valid");
+
+        // A single object per call takes at least 16 bytes, less than a byte per call only leaves room for the counter itself
+        assertTrue(allocated < MEASURED_CALLS, "isValid allocated " + allocated + " bytes in " + MEASURED_CALLS + " calls");
+    }
+}
@@ -0,0 +1,258 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.errors.ErrorCode;
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagConditional;
+import com.conorsmine.net.json_schema.tags.TagGroup;
+import com.conorsmine.net.json_schema.tags.TagNumeric;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.conorsmine.net.json_schema.tags.TagString;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies random JSON Patches to a document and compares every recheck with a full check of the patched document.
+ */
+class RecheckTest {
+
+    private static final int DOCUMENTS = 200;
+    private static final int PATCHES_PER_DOCUMENT = 20;
+
+    private static final String BASE_JSON = "{\"s\":\"abc\",\"i\":5,\"bo\":true,\"g\":{\"x\":1,\"n\":{\"x\":2}},"
+            + "\"arr\":[{\"x\":1,\"y\":\"a\"},{\"x\":2,\"y\":\"b\"}],\"sized\":[1,2],"
+            + "\"o\":{\"a/b\":\"x\",\"k\":\"v\",\"d\":\"123e4567-e89b-12d3-a456-426614174000\"},\"any\":{\"q\":1}}";
+    private static final String[] ADDED_KEYS = { "x", "y", "n", "k", "d", "e", "a/b", "s", "i", "zz" };
+
+    private final JsonSchema schema = JsonSchemaBuilder.builder(TagObj.builder()
+                    .setKeyAs("s", TagString.builder().setLenRange(2, 4).build())
+                    .setKeyAs("i", TagNumeric.<Long>builder(TagType.INT).setRange(-5L, 100L).build())
+                    .setKeyAs("bo", TagType.BOOL)
+                    .setKeyAs("g", TagGroup.create("group", true))
+                    .setKeyAs("arr", TagArr.builder()
+                            .setTagFormat(TagObj.builder().setKeyAs("x", TagType.INT).setKeyAs("y", TagType.STR).build())
+                            .setMinSize(1L)
+                            .setMaxSize(3L)
+                            .setOptional()
+                            .build())
+                    .setKeyAs("sized", TagArr.builder().setTagFormat(TagType.U_INT).setSize(2L).setOptional().build())
+                    .setKeyAs("o", TagObj.builder()
+                            .setKeyAs("a/b", TagType.STR)
+                            .setConditionalTags("k",
+                                    TagConditional.create("v", "d", true, TagType.UUID.getTag()),
+                                    TagConditional.create("w", "e", false, TagType.INT.getTag()))
+                            .setOptional()
+                            .build())
+                    .setKeyAs("any", TagType.ANY))
+            .addGroup("group", TagObj.builder().setKeyAs("x", TagType.INT).setKeyAs("n", TagGroup.create("group", true)).build())
+            .build();
+
+    private final Random random = new Random(42);
+    private final JsonElement[] values = {
+            new JsonPrimitive("ab"), new JsonPrimitive("v"), new JsonPrimitive("w"), new JsonPrimitive(5), new JsonPrimitive(-9),
+            new JsonPrimitive(true), new JsonPrimitive("123e4567-e89b-12d3-a456-426614174000"), new JsonObject(), new JsonArray(),
+            JsonParser.parseString("{\"x\":1,\"y\":\"q\"}"), JsonParser.parseString("[1,2]"), JsonNull.INSTANCE,
+            JsonParser.parseString("{\"x\":\"z\"}")
+    };
+
+    @Test
+    void recheckMatchesFullCheck() {
+        final Set<ErrorCode> seenCodes = EnumSet.noneOf(ErrorCode.class);
+
+        for (int document = 0; document < DOCUMENTS; document++) {
+            final JsonElement json = JsonParser.parseString(BASE_JSON);
+            CheckResult patchResult = schema.check(json);
+            CheckResult pointerResult = patchResult;
+
+            for (int step = 0; step < PATCHES_PER_DOCUMENT; step++) {
+                final JsonArray patch = new JsonArray();
+                final Set<String> changedPointers = new LinkedHashSet<>();
+                final int operations = 1 + random.nextInt(3);
+                for (int i = 0; i < operations; i++) {
+                    final JsonObject operation = (random.nextBoolean()) ? targetedOperation(json) : randomOperation(json);
+                    if (operation == null) continue;
+
+                    patch.add(operation);
+                    changedPointers.add(changedPointer(json, operation));
+                }
+
+                final CheckResult full = schema.check(json);
+                full.getErrors().forEach((error) -> seenCodes.add(error.getCode()));
+
+                patchResult = schema.recheck(json, patchResult, patch);
+                pointerResult = schema.recheck(json, pointerResult, changedPointers);
+                assertEquals(describe(full), describe(patchResult), () -> "Patch " + patch + " of " + json);
+                assertEquals(describe(full), describe(pointerResult), () -> "Pointers " + changedPointers + " of " + json);
+            }
+        }
+
+        // The patches have to reach the conditionals and the sizes of the arrays for the comparison to cover them
+        for (ErrorCode code : EnumSet.of(ErrorCode.INVALID_REFERENCE, ErrorCode.MISSING_DESTINATION, ErrorCode.TOO_FEW, ErrorCode.TOO_MANY, ErrorCode.INCORRECT_SIZE))
+            assertTrue(seenCodes.contains(code), "No patch led to " + code);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Patches
+    ///////////////////////////////////////////////////////////////////////////
+
+    // Changes the reference or a destination of the conditionals, or grows or shrinks the sized arrays
+    private JsonObject targetedOperation(JsonElement json) {
+        final JsonObject root = json.getAsJsonObject();
+        switch (random.nextInt(4)) {
+            case 0:
+                if (!root.has("o") || !root.get("o").isJsonObject()) return null;
+                return (random.nextInt(4) == 0)
+                        ? remove(json, "/o/k")
+                        : replace(json, "/o/k", pick(new JsonPrimitive("v"), new JsonPrimitive("w"), new JsonPrimitive("x"), new JsonObject()));
+            case 1:
+                if (!root.has("o") || !root.get("o").isJsonObject()) return null;
+                final String destination = random.nextBoolean() ? "/o/d" : "/o/e";
+                return (random.nextInt(3) == 0)
+                        ? remove(json, destination)
+                        : replace(json, destination, pick(new JsonPrimitive("123e4567-e89b-12d3-a456-426614174000"), new JsonPrimitive("nope"), new JsonPrimitive(5)));
+            default:
+                final String array = random.nextBoolean() ? "arr" : "sized";
+                if (!root.has(array) || !root.get(array).isJsonArray()) return null;
+                final JsonArray elements = root.getAsJsonArray(array);
+                if (elements.size() > 0 && random.nextBoolean()) return remove(json, "/" + array + "/" + random.nextInt(elements.size()));
+                return add(json, "/" + array + "/-", pick(JsonParser.parseString("{\"x\":1,\"y\":\"q\"}"), new JsonPrimitive(3), new JsonPrimitive(-3)));
+        }
+    }
+
+    // Replaces, removes or adds a random node of the document
+    private JsonObject randomOperation(JsonElement json) {
+        final List<String> pointers = new ArrayList<>();
+        collectPointers(json, "", pointers);
+        final String pointer = pointers.get(random.nextInt(pointers.size()));
+        if (pointer.isEmpty()) return null;
+
+        final JsonElement value = values[random.nextInt(values.length)].deepCopy();
+        switch (random.nextInt(3)) {
+            case 0: return replace(json, pointer, value);
+            case 1: return remove(json, pointer);
+            default:
+                final JsonElement target = resolve(json, pointer);
+                if (target.isJsonArray()) return add(json, pointer + "/-", value);
+                if (target.isJsonObject()) return add(json, pointer + "/" + escape(ADDED_KEYS[random.nextInt(ADDED_KEYS.length)]), value);
+                return null;
+        }
+    }
+
+    private JsonObject replace(JsonElement json, String pointer, JsonElement value) {
+        final JsonElement parent = resolve(json, parentOf(pointer));
+        final String key = lastToken(pointer);
+        if (parent.isJsonObject()) {
+            // Replacing a missing key is an add
+            final boolean existed = parent.getAsJsonObject().has(key);
+            parent.getAsJsonObject().add(key, value);
+            if (!existed) return operation("add", pointer, value);
+        }
+        else parent.getAsJsonArray().set(Integer.parseInt(key), value);
+        return operation("replace", pointer, value);
+    }
+
+    private JsonObject remove(JsonElement json, String pointer) {
+        final JsonElement parent = resolve(json, parentOf(pointer));
+        final String key = lastToken(pointer);
+        if (parent.isJsonObject()) {
+            if (parent.getAsJsonObject().remove(key) == null) return null;
+        }
+        else parent.getAsJsonArray().remove(Integer.parseInt(key));
+        return operation("remove", pointer, null);
+    }
+
+    private JsonObject add(JsonElement json, String pointer, JsonElement value) {
+        final JsonElement parent = resolve(json, parentOf(pointer));
+        final String key = lastToken(pointer);
+        if (parent.isJsonArray()) parent.getAsJsonArray().add(value);
+        else parent.getAsJsonObject().add(key, value);
+        return operation("add", pointer, value);
+    }
+
+    private static JsonObject operation(String op, String pointer, JsonElement value) {
+        final JsonObject operation = new JsonObject();
+        operation.addProperty("op", op);
+        operation.addProperty("path", pointer);
+        if (value != null) operation.add("value", value);
+        return operation;
+    }
+
+    // Elements added to or removed from an array move the elements after them, so the array itself changed
+    private static String changedPointer(JsonElement json, JsonObject operation) {
+        final String pointer = operation.get("path").getAsString();
+        final String op = operation.get("op").getAsString();
+        if (op.equals("replace")) return pointer;
+
+        final String parent = parentOf(pointer);
+        final JsonElement parentElement = resolve(json, parent);
+        return (parentElement != null && parentElement.isJsonArray()) ? parent : pointer;
+    }
+
+    private JsonElement pick(JsonElement... choices) {
+        return choices[random.nextInt(choices.length)];
+    }
+
+    ///////////////////////////////////////////////////////////////////////////
+    // Pointers
+    ///////////////////////////////////////////////////////////////////////////
+
+    private static void collectPointers(JsonElement element, String pointer, List<String> pointers) {
+        pointers.add(pointer);
+        if (element.isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : element.getAsJsonObject().entrySet())
+                collectPointers(entry.getValue(), pointer + "/" + escape(entry.getKey()), pointers);
+        }
+        else if (element.isJsonArray()) {
+            final JsonArray array = element.getAsJsonArray();
+            for (int i = 0; i < array.size(); i++) collectPointers(array.get(i), pointer + "/" + i, pointers);
+        }
+    }
+
+    private static JsonElement resolve(JsonElement root, String pointer) {
+        JsonElement element = root;
+        if (pointer.isEmpty()) return element;
+
+        for (String token : pointer.substring(1).split("/", -1)) {
+            if (element == null) return null;
+            final String key = token.replace("~1", "/").replace("~0", "~");
+            if (element.isJsonObject()) element = element.getAsJsonObject().get(key);
+            else if (element.isJsonArray()) element = element.getAsJsonArray().get(Integer.parseInt(key));
+            else return null;
+        }
+        return element;
+    }
+
+    private static String parentOf(String pointer) {
+        return pointer.substring(0, pointer.lastIndexOf('/'));
+    }
+
+    private static String lastToken(String pointer) {
+        return pointer.substring(pointer.lastIndexOf('/') + 1).replace("~1", "/").replace("~0", "~");
+    }
+
+    private static String escape(String key) {
+        return key.replace("~", "~0").replace("/", "~1");
+    }
+
+    private static List<String> describe(CheckResult result) {
+        return result.getSortedErrors().stream()
+                .map((error) -> error.getPointer() + " " + error.getCode() + " " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
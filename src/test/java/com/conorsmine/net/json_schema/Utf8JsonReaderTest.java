@@ -0,0 +1,149 @@
+package com.conorsmine.net.json_schema;
+
+import com.conorsmine.net.json_schema.tags.TagArr;
+import com.conorsmine.net.json_schema.tags.TagConditional;
+import com.conorsmine.net.json_schema.tags.TagEnum;
+import com.conorsmine.net.json_schema.tags.TagGroup;
+import com.conorsmine.net.json_schema.tags.TagNumeric;
+import com.conorsmine.net.json_schema.tags.TagObj;
+import com.conorsmine.net.json_schema.tags.TagString;
+import com.conorsmine.net.json_schema.tags.TagUUID;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Compares the checks of UTF-8 bytes with the checks of the same JSONs parsed by Gson.
+ */
+class Utf8JsonReaderTest {
+
+    private final JsonSchema schema = JsonSchemaBuilder.builder(TagObj.builder()
+                    .setKeyAs("s", TagString.builder().setLenRange(2, 4).build())
+                    .setKeyAs("\u00e9", TagType.STR)
+                    .setKeyAs("i", TagNumeric.<Long>builder(TagType.INT).setRange(-5L, 100L).build())
+                    .setKeyAs("u", TagType.U_INT)
+                    .setKeyAs("f", TagNumeric.<Double>builder(TagType.FLT).setRange(-1.5, 1e10).setOptional().build())
+                    .setKeyAs("bo", TagType.BOOL)
+                    .setKeyAs("e", TagEnum.create(true, "RED", "Gr\u00fcn"))
+                    .setKeyAs("u1", TagUUID.create(true))
+                    .setKeyAs("g", TagGroup.create("group", true))
+                    .setKeyAs("arr", TagArr.builder().setTagFormat(TagType.S_FLT).setMaxSize(3L).setOptional().build())
+                    .setKeyAs("o", TagObj.builder()
+                            .setKeyAs("a/b", TagType.STR)
+                            .setConditionalTags("k", TagConditional.create("v", "d", true, TagType.UUID.getTag()))
+                            .setOptional()
+                            .build())
+                    .setKeyAs("any", TagType.ANY))
+            .addGroup("group", TagObj.builder().setKeyAs("x", TagType.INT).build())
+            .build();
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"s\":\"\\u00e9\\u00e9\",\"\\u00e9\":\"\\ud83d\\ude00\",\"i\":1,\"u\":1,\"bo\":true}",
+            "{\"s\":\"ab\\\"\",\"\u00e9\":\"\\n\\t\\\\\\/\",\"i\":1,\"u\":1,\"bo\":true}",
+            "{\"s\":\"\\\"\\\"\\\"\\\"\\\"\",\"\u00e9\":\"\\b\\f\\r\",\"i\":1,\"u\":1,\"bo\":true,\"o\":{\"a\\/b\":1,\"k\":\"\\u0076\",\"d\":\"x\"}}"
+    })
+    void escapedStrings(String json) {
+        assertSameErrors(json);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"s\":\"\ud83d\ude00\ud83d\ude00\",\"\u00e9\":\"\u00fc\",\"i\":1,\"u\":1,\"bo\":true,\"e\":\"Gr\u00fcn\"}",
+            "{\"s\":\"\ud83d\ude00\ud83d\ude00\ud83d\ude00\",\"\u00e9\":\"\u65e5\u672c\u8a9e\",\"i\":1,\"u\":1,\"bo\":true,\"e\":\"GR\u00dcN\"}",
+            "{\"s\":\"\u00fc\",\"\u00e9\":\"\",\"i\":1,\"u\":1,\"bo\":true,\"e\":\"gr\u00fcn\",\"any\":{\"\u043a\u043b\u044e\u0447\":[\"\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\"]}}"
+    })
+    void nonAsciiStrings(String json) {
+        assertSameErrors(json);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"s\":\"ab\",\"\u00e9\":\"x\",\"i\":9223372036854775808,\"u\":12345678901234567890,\"f\":-1.5000000000000001,\"bo\":true}",
+            "{\"s\":\"ab\",\"\u00e9\":\"x\",\"i\":1E2,\"u\":0.0,\"f\":0.1e-400,\"bo\":true}",
+            "{\"s\":\"ab\",\"\u00e9\":\"x\",\"i\":-0,\"u\":-1,\"f\":-0.0,\"bo\":true,\"arr\":[-1,2,-3.5e2,-4]}",
+            "{\"s\":\"ab\",\"\u00e9\":\"x\",\"i\":100,\"u\":1,\"f\":123456789012345.6,\"bo\":true,\"arr\":[-1E+2,-2e-2]}",
+            "{\"s\":\"ab\",\"\u00e9\":1,\"i\":-6,\"u\":5,\"f\":1e11,\"bo\":true}"
+    })
+    void numbers(String json) {
+        assertSameErrors(json);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"s\":\"a\",\"\u00e9\":[],\"i\":-6,\"u\":-1,\"f\":1e11,\"bo\":\"yes\",\"e\":\"Gr\u00fcn\",\"u1\":\"nope\",\"g\":{\"x\":1.5},\"arr\":[-1,2,-3.5e2,-4],\"o\":{\"a/b\":1,\"k\":\"v\",\"d\":\"x\"}}",
+            "{\"s\":\"abcde\",\"i\":\"5\",\"u\":true,\"f\":null,\"bo\":1,\"e\":3,\"g\":null,\"arr\":\"x\"}",
+            "{\"i\":100,\"u\":1,\"bo\":\"T\",\"\u00e9\":\"a\",\"s\":\"abc\",\"g\":[],\"o\":{\"a/b\":\"q\",\"k\":\"w\"}}",
+            "[]", "\"x\"", "1", "null"
+    })
+    void invalidValues(String json) {
+        assertSameErrors(json);
+    }
+
+    // Like the Reader based check, streaming checks every occurrence of a duplicate key, while the tree only keeps the last one
+    @Test
+    void duplicateKeysAreCheckedLikeTheReader() throws IOException {
+        final String json = "{\"s\":\"abcde\",\"\u00e9\":\"x\",\"i\":1,\"u\":1,\"bo\":true,\"s\":\"dup\"}";
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertEquals(describe(schema.check(new StringReader(json))), describe(schema.check(bytes, 0, bytes.length)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", "{", "{\"s\":1,}", "[1 2]", "{\"s\":\"\\x\"}", "{\"s\":01}", "{\"s\":1.}", "{'s':1}", "{} {}",
+            "{\"s\":\"a\nb\"}", "tru", "{\"s\":\"\\ud8\"}", "{\"s\":-}", "[1e]", "{\"s\":NaN}", "{\"s\" 1}"
+    })
+    void malformedJsonThrows(String json) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonSyntaxException.class, () -> schema.check(bytes, 0, bytes.length));
+    }
+
+    @Test
+    void malformedUtf8Throws() {
+        final byte[][] inputs = {
+                { '"', (byte) 0xC3, '"' },                                  // Truncated sequence
+                { '"', (byte) 0xFF, '"' },                                  // Invalid lead byte
+                { '"', (byte) 0xED, (byte) 0xA0, (byte) 0x80, '"' },        // Encoded surrogate
+                { '"', (byte) 0xC0, (byte) 0x80, '"' },                     // Overlong encoding
+                { '"', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80, '"' } // Above U+10FFFF
+        };
+        for (byte[] bytes : inputs)
+            assertThrows(JsonSyntaxException.class, () -> schema.check(bytes, 0, bytes.length));
+    }
+
+    // Checks the bytes inside a larger array, in a direct buffer and in a read-only buffer, each surrounded by whitespace
+    private void assertSameErrors(String json) {
+        final List<String> expected = describe(schema.check(JsonParser.parseString(json)));
+
+        final byte[] bytes = ("  " + json + " \n").getBytes(StandardCharsets.UTF_8);
+        final byte[] padded = new byte[bytes.length + 6];
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        assertEquals(expected, describe(schema.check(padded, 3, bytes.length)));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.position(2);
+        direct.put(bytes).position(2);
+        assertEquals(expected, describe(schema.check(direct)));
+        assertEquals(2, direct.position(), "The check must not move the buffer");
+
+        assertEquals(expected, describe(schema.check(ByteBuffer.wrap(padded, 3, bytes.length).slice().asReadOnlyBuffer())));
+    }
+
+    private static List<String> describe(CheckResult result) {
+        return result.getSortedErrors().stream()
+                .map((error) -> error.getPointer() + " " + error.getCode() + " " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
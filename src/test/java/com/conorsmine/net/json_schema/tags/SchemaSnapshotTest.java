@@ -0,0 +1,136 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Writes a schema using every kind of tag to a snapshot, reads it back and checks the same JSONs with both schemas.
+ */
+class SchemaSnapshotTest {
+
+    private static final String UUID = "123e4567-e89b-12d3-a456-426614174000";
+
+    // A single instance used at two keys, written once and referenced afterwards
+    private final TagString sharedName = TagString.builder().setLenRange(2, 8).build();
+
+    private final JsonSchema schema = JsonSchemaBuilder.builder(TagObj.builder()
+                    .setKeyAs("name", sharedName)
+                    .setKeyAs("alias", sharedName)
+                    .setKeyAs("grade", TagChar.builder().addValidChars("ABC").setOptional().build())
+                    .setKeyAs("int", TagNumeric.<Integer>builder(TagType.INT).setRange(-5, 100).setOptional().build())
+                    .setKeyAs("short", TagNumeric.<Short>builder(TagType.INT).setRange((short) -5, (short) 100).setOptional().build())
+                    .setKeyAs("byte", TagNumeric.<Byte>builder(TagType.U_INT).setRange((byte) 1, (byte) 10).setOptional().build())
+                    .setKeyAs("long", TagNumeric.<Long>builder(TagType.S_INT).setMinValue(-1000L).setOptional().build())
+                    .setKeyAs("float", TagNumeric.<Float>builder(TagType.FLT).setRange(-1.5f, 2.5f).setOptional().build())
+                    .setKeyAs("double", TagNumeric.<Double>builder(TagType.U_FLT).setMaxValue(1e10).setOptional().build())
+                    .setKeyAs("big_int", TagNumeric.<BigInteger>builder(TagType.INT).setRange(BigInteger.ZERO, new BigInteger("100000000000000000000")).setOptional().build())
+                    .setKeyAs("big_dec", TagNumeric.<BigDecimal>builder(TagType.FLT).setRange(new BigDecimal("0.1"), new BigDecimal("0.3")).setOptional().build())
+                    .setKeyAs("flag", TagBoolean.builder().addValidBools("yes").addInvalidBools("no").setOptional().build())
+                    .setKeyAs("id", TagUUID.create())
+                    .setKeyAs("lenient_id", TagUUID.builder().setLenient().setOptional().build())
+                    .setKeyAs("kind", TagEnum.create(true, "WEAPON", "ARMOR"))
+                    .setKeyAs("tags", TagArr.builder().setTagFormat(TagType.STR).setMinSize(1L).setMaxSize(3L).setParallelThreshold(1000).setOptional().build())
+                    .setKeyAs("tree", TagGroup.create("node", true))
+                    .setKeyAs("extra", TagAny.create(true))
+                    .setConditionalTags("kind",
+                            TagConditional.create("WEAPON", "damage", true, TagNumeric.<Integer>builder(TagType.U_INT).setMaxValue(50).build()),
+                            TagConditional.create("ARMOR", "defense", false, TagType.U_INT.getTag())))
+            .addGroup("node", TagObj.builder()
+                    .setKeyAs("value", TagType.INT)
+                    .setKeyAs("children", TagArr.builder().setTagFormat(TagGroup.create("node")).setOptional().build())
+                    .build())
+            .build();
+
+    private final List<String> jsons = Arrays.asList(
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"kind\":\"WEAPON\",\"damage\":20}",
+            "{\"name\":\"s\",\"alias\":\"far too long\",\"id\":\"" + UUID.toUpperCase() + "x\",\"kind\":\"WEAPON\",\"damage\":60}",
+            "{\"name\":\"shield\",\"alias\":\"guard\",\"id\":\"" + UUID + "\",\"kind\":\"ARMOR\",\"defense\":-1,\"grade\":\"D\"}",
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"kind\":\"WEAPON\","
+                    + "\"int\":101,\"short\":-6,\"byte\":11,\"long\":-1001,\"float\":2.6,\"double\":1e11,"
+                    + "\"big_int\":100000000000000000001,\"big_dec\":0.31,\"flag\":\"no\"}",
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"kind\":\"WEAPON\",\"damage\":1,"
+                    + "\"int\":100,\"short\":-5,\"byte\":1,\"long\":-1000,\"float\":-1.5,\"double\":0,"
+                    + "\"big_int\":0,\"big_dec\":0.1,\"flag\":\"yes\",\"grade\":\"A\",\"extra\":[1]}",
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"kind\":\"SHIELD\",\"lenient_id\":\"1-2-3-4-5\",\"tags\":[]}",
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"lenient_id\":\"1-2-3-4\",\"tags\":[\"a\",\"b\",\"c\",\"d\"]}",
+            "{\"name\":\"sword\",\"alias\":\"blade\",\"id\":\"" + UUID + "\",\"kind\":\"WEAPON\",\"damage\":5,"
+                    + "\"tree\":{\"value\":1,\"children\":[{\"value\":2},{\"value\":\"x\",\"children\":[{\"children\":[]}]}]}}",
+            "[]"
+    );
+
+    @Test
+    void loadedSchemaChecksLikeTheOriginal() throws IOException {
+        final JsonSchema loaded = JsonSchemaBuilder.createSchemaFromSnapshot(new ByteArrayInputStream(write(schema)));
+        for (String json : jsons)
+            assertEquals(describe(schema.check(JsonParser.parseString(json))), describe(loaded.check(JsonParser.parseString(json))), json);
+    }
+
+    @Test
+    void loadedSchemaWritesTheSameSnapshot() throws IOException {
+        final byte[] snapshot = write(schema);
+        assertArrayEquals(snapshot, write(JsonSchemaBuilder.createSchemaFromSnapshot(new ByteArrayInputStream(snapshot))));
+    }
+
+    @Test
+    void tagsKeepTheirSettings() throws IOException {
+        final SchemaSnapshot snapshot = SchemaSnapshot.read(new DataInputStream(new ByteArrayInputStream(write(schema))));
+        final TagObj root = (TagObj) snapshot.getRoot();
+
+        assertSame(root.keyTagMap.get("name"), root.keyTagMap.get("alias"));
+        assertTrue(((TagUUID) root.keyTagMap.get("lenient_id")).lenient);
+        assertFalse(((TagUUID) root.keyTagMap.get("id")).lenient);
+        assertEquals(1000, ((TagArr) root.keyTagMap.get("tags")).parallelThreshold);
+
+        // The bounds keep the boxed type they were set as
+        assertBounds(root, "int", -5, 100);
+        assertBounds(root, "short", (short) -5, (short) 100);
+        assertBounds(root, "byte", (byte) 1, (byte) 10);
+        assertBounds(root, "long", -1000L, null);
+        assertBounds(root, "float", -1.5f, 2.5f);
+        assertBounds(root, "double", null, 1e10);
+        assertBounds(root, "big_int", BigInteger.ZERO, new BigInteger("100000000000000000000"));
+        assertBounds(root, "big_dec", new BigDecimal("0.1"), new BigDecimal("0.3"));
+
+        // The recursive group refers to itself by name
+        final TagObj node = (TagObj) snapshot.getGroups().values().iterator().next();
+        assertEquals("node", ((TagGroup) ((TagArr) node.keyTagMap.get("children")).tagFromat).getGroupName());
+    }
+
+    private static void assertBounds(TagObj root, String key, Number minValue, Number maxValue) {
+        final TagNumeric<?> numeric = (TagNumeric<?>) root.keyTagMap.get(key);
+        assertEquals(minValue, numeric.minValue, key);
+        assertEquals(maxValue, numeric.maxValue, key);
+    }
+
+    private static byte[] write(JsonSchema schema) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        schema.writeSnapshot(out);
+        return out.toByteArray();
+    }
+
+    private static List<String> describe(CheckResult result) {
+        return result.getSortedErrors().stream()
+                .map((error) -> error.getPointer() + " " + error.getCode() + " " + error.getMessage())
+                .collect(Collectors.toList());
+    }
+}
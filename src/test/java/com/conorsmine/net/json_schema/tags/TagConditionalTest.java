@@ -0,0 +1,62 @@
+package com.conorsmine.net.json_schema.tags;
+
+import com.conorsmine.net.json_schema.CheckError;
+import com.conorsmine.net.json_schema.CheckResult;
+import com.conorsmine.net.json_schema.JsonSchema;
+import com.conorsmine.net.json_schema.JsonSchemaBuilder;
+import com.conorsmine.net.json_schema.TagType;
+import com.conorsmine.net.json_schema.errors.ErrorCode;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TagConditionalTest {
+
+    private final JsonSchema schema = JsonSchemaBuilder.createSchema(TagObj.builder()
+            .setConditionalTags("type", TagConditional.create("weapon", "data", true, TagObj.builder()
+                    .setKeyAs("name", TagType.STR)
+                    .build())));
+
+    @Test
+    void destinationErrorsPointIntoTheDestination() throws IOException {
+        assertErrors("{\"type\":\"weapon\",\"data\":{}}", "/data/name " + ErrorCode.MISSING_TAG);
+    }
+
+    @Test
+    void missingDestinationPointsToTheDestinationKey() throws IOException {
+        assertErrors("{\"type\":\"weapon\"}", "/data " + ErrorCode.MISSING_DESTINATION);
+    }
+
+    @Test
+    void invalidReferencePointsToTheReferenceKey() throws IOException {
+        assertErrors("{\"type\":{},\"data\":{\"name\":\"x\"}}", "/type " + ErrorCode.INVALID_REFERENCE);
+    }
+
+    @Test
+    void missingReferencePointsToTheReferenceKey() throws IOException {
+        assertErrors("{\"data\":{\"name\":\"x\"}}", "/type " + ErrorCode.MISSING_TAG);
+    }
+
+    // Checks the trees, readers and bytes report the same errors
+    private void assertErrors(String json, String... expected) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final List<String> expectedErrors = Arrays.asList(expected);
+        assertEquals(expectedErrors, describe(schema.check(JsonParser.parseString(json))));
+        assertEquals(expectedErrors, describe(schema.check(new StringReader(json))));
+        assertEquals(expectedErrors, describe(schema.check(bytes, 0, bytes.length)));
+    }
+
+    private static List<String> describe(CheckResult result) {
+        return result.getSortedErrors().stream()
+                .map((CheckError error) -> error.getPointer() + " " + error.getCode())
+                .collect(Collectors.toList());
+    }
+}